@@ -0,0 +1,36 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>Accepts the usual JMH command line (e.g. {@code -p records=10000} or a
+ * benchmark name regex) and always enables the GC profiler, so every result
+ * also reports allocation rate and bytes allocated per operation.</p>
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        // Utility class
+    }
+
+    /**
+     * Runs the selected benchmarks with allocation profiling.
+     *
+     * @param args JMH command-line options
+     * @throws RunnerException            if a benchmark fails
+     * @throws CommandLineOptionException if the options cannot be parsed
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.util.CSVUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read and write throughput of {@link CSVUtil} for inventory and sales files.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class CsvBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int records;
+
+    private Inventory inventory;
+    private List<Sale> sales;
+    private Path inventoryCsv;
+    private Path salesCsv;
+    private Path outCsv;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        List<Book> books = DataGenerator.books(Math.max(1, records / 10), 1);
+        inventory = DataGenerator.inventory(records, 1);
+        sales = DataGenerator.sales(records, books, 3);
+        inventoryCsv = Files.createTempFile("bench-inventory", ".csv");
+        salesCsv = Files.createTempFile("bench-sales", ".csv");
+        outCsv = Files.createTempFile("bench-out", ".csv");
+        CSVUtil.writeInventoryToCsv(inventory, inventoryCsv.toString());
+        CSVUtil.writeSalesToCsv(sales, salesCsv.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(inventoryCsv);
+        Files.deleteIfExists(salesCsv);
+        Files.deleteIfExists(outCsv);
+    }
+
+    @Benchmark
+    public Inventory readInventory() throws IOException {
+        return CSVUtil.readInventoryFromCsv(inventoryCsv.toString());
+    }
+
+    @Benchmark
+    public Inventory readInventoryParallel() throws IOException {
+        return CSVUtil.readInventoryFromCsvParallel(inventoryCsv.toString());
+    }
+
+    @Benchmark
+    public List<Sale> readSales() throws IOException {
+        return CSVUtil.readSalesFromCsv(salesCsv.toString());
+    }
+
+    @Benchmark
+    public List<Sale> readSalesParallel() throws IOException {
+        return CSVUtil.readSalesFromCsvParallel(salesCsv.toString());
+    }
+
+    @Benchmark
+    public void writeInventory() throws IOException {
+        CSVUtil.writeInventoryToCsv(inventory, outCsv.toString());
+    }
+
+    @Benchmark
+    public void writeSales() throws IOException {
+        CSVUtil.writeSalesToCsv(sales, outCsv.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data for the benchmarks.
+ *
+ * <p>The same seed always yields the same books and sales, so runs at a
+ * given size are comparable across commits.</p>
+ */
+public final class DataGenerator {
+    /** First day of the generated sales history. */
+    public static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 9, 0);
+    /** Length of the generated sales history. */
+    public static final int DAYS = 730;
+
+    private static final String[] AUTHORS = {
+            "Ada Byron", "Alan Turing", "Grace Hopper", "Edsger Dijkstra", "Barbara Liskov",
+            "Donald Knuth", "Frances Allen", "John Backus", "Margaret Hamilton", "Niklaus Wirth"
+    };
+
+    private DataGenerator() {
+        // Utility class
+    }
+
+    /**
+     * Returns the ISBN of the i-th generated book.
+     *
+     * @param i book number
+     * @return a 13-digit ISBN-like string
+     */
+    public static String isbn(int i) {
+        return "978" + String.format("%010d", i);
+    }
+
+    /**
+     * Generates {@code n} books with unique ISBNs.
+     *
+     * @param n    number of books
+     * @param seed random seed
+     * @return the books in ISBN order
+     */
+    public static List<Book> books(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<Book> books = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double price = (499 + rnd.nextInt(5000)) / 100.0;
+            books.add(new Book(isbn(i), "Title " + i, AUTHORS[rnd.nextInt(AUTHORS.length)],
+                    price, rnd.nextInt(200)));
+        }
+        return books;
+    }
+
+    /**
+     * Generates an inventory of {@code n} books.
+     *
+     * @param n    number of books
+     * @param seed random seed
+     * @return the populated inventory
+     */
+    public static Inventory inventory(int n, long seed) {
+        Inventory inv = new Inventory();
+        for (Book b : books(n, seed)) {
+            inv.addBook(b);
+        }
+        return inv;
+    }
+
+    /**
+     * Generates {@code n} sales over {@link #DAYS} days, roughly in time order.
+     * Book popularity is skewed so that top-N queries have clear winners.
+     *
+     * @param n     number of sales
+     * @param books the books to sell
+     * @param seed  random seed
+     * @return the sales
+     */
+    public static List<Sale> sales(int n, List<Book> books, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<Sale> sales = new ArrayList<>(n);
+        long span = DAYS * 86_400L;
+        for (int i = 0; i < n; i++) {
+            int pick = (int) (books.size() * Math.pow(rnd.nextDouble(), 3));
+            long second = span * i / n + rnd.nextInt(600);
+            sales.add(new Sale(books.get(pick), 1 + rnd.nextInt(3), START.plusSeconds(second)));
+        }
+        return sales;
+    }
+}
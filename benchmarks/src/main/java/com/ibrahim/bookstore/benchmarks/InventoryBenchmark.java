@@ -0,0 +1,61 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and update cost of {@link Inventory} by catalog size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class InventoryBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int records;
+
+    private Inventory inventory;
+    private String[] probes;
+    private Book[] updates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        inventory = DataGenerator.inventory(records, 1);
+        SplittableRandom rnd = new SplittableRandom(2);
+        probes = new String[1024];
+        updates = new Book[1024];
+        for (int i = 0; i < probes.length; i++) {
+            int n = rnd.nextInt(records);
+            probes[i] = DataGenerator.isbn(n);
+            updates[i] = new Book(probes[i], "Updated " + n, "Author", 9.99, rnd.nextInt(100));
+        }
+    }
+
+    @Benchmark
+    public Book findByIsbn() {
+        return inventory.findByIsbn(probes[next++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean updateBook() {
+        return inventory.updateBook(updates[next++ & 1023]);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.ReportGenerator;
+import com.ibrahim.bookstore.service.SalesManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of the {@link ReportGenerator} reports, with console
+ * output discarded so formatting is measured but the terminal is not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int records;
+
+    private ReportGenerator reports;
+    private PrintStream originalOut;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Book> books = DataGenerator.books(Math.max(1, records / 10), 1);
+        InventoryManager inventory = new InventoryManager();
+        books.forEach(inventory::addBook);
+        SalesManager sales = new SalesManager(DataGenerator.sales(records, books, 3));
+        reports = new ReportGenerator(inventory, sales);
+        from = DataGenerator.START.toLocalDate().plusDays(DataGenerator.DAYS / 2);
+        to = from.plusDays(6);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restore() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void printTotalSales() {
+        reports.printTotalSales();
+    }
+
+    @Benchmark
+    public void printTopSellingBooks() {
+        reports.printTopSellingBooks(10);
+    }
+
+    @Benchmark
+    public void printLowStock() {
+        reports.printLowStock(5);
+    }
+
+    @Benchmark
+    public void printSalesByDateRange() {
+        reports.printSalesByDateRange(from, to);
+    }
+}
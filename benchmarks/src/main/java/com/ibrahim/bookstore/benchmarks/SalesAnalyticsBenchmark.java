@@ -0,0 +1,64 @@
+package com.ibrahim.bookstore.benchmarks;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.service.SalesManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query cost of {@link SalesManager} analytics by history size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class SalesAnalyticsBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int records;
+
+    private SalesManager salesManager;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Book> books = DataGenerator.books(Math.max(1, records / 10), 1);
+        salesManager = new SalesManager(DataGenerator.sales(records, books, 3));
+        // one week in the middle of the history
+        from = DataGenerator.START.toLocalDate().plusDays(DataGenerator.DAYS / 2);
+        to = from.plusDays(6);
+    }
+
+    @Benchmark
+    public double totalRevenue() {
+        return salesManager.totalRevenue();
+    }
+
+    @Benchmark
+    public Map<String, Integer> topSellingBooks() {
+        return salesManager.topSellingBooks(10);
+    }
+
+    @Benchmark
+    public List<Sale> salesByDateRange() {
+        return salesManager.salesByDateRange(from, to);
+    }
+}
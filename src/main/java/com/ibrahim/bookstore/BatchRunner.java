@@ -0,0 +1,210 @@
+package com.ibrahim.bookstore;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.SalesManager;
+import com.ibrahim.bookstore.util.CsvTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Headless batch mode: applies a file of inventory and sales commands
+ * without any prompts.
+ *
+ * <p>Each non-blank line of the transaction file is one CSV command; lines
+ * starting with {@code #} are comments:</p>
+ * <pre>
+ * add,isbn,title,author,price,quantity
+ * update,isbn,title,author,price,quantity
+ * remove,isbn
+ * sell,isbn,quantity[,timestamp]
+ * </pre>
+ * <p>{@code sell} checks and decrements stock like the interactive menu and
+ * records the sale at the given ISO timestamp, or now. A command that fails
+ * is reported with its line number and the run continues. Output is
+ * buffered and ends with a throughput summary; the commands/s figure covers
+ * applying the commands only, and loading and saving the CSV files are
+ * timed separately.</p>
+ */
+public class BatchRunner {
+    private final InventoryManager inventory;
+    private final SalesManager sales;
+    private final PrintWriter out;
+    private final CsvTokenizer tok = new CsvTokenizer();
+
+    private long commands;
+    private long added;
+    private long updated;
+    private long removed;
+    private long sold;
+    private long failed;
+
+    /**
+     * Creates a runner over the given managers.
+     *
+     * @param inventory the inventory to change
+     * @param sales     the sales history that records {@code sell} commands
+     * @param out       where errors and the summary are written
+     */
+    public BatchRunner(InventoryManager inventory, SalesManager sales, PrintWriter out) {
+        this.inventory = inventory;
+        this.sales = sales;
+        this.out = out;
+    }
+
+    /**
+     * Runs a whole batch: loads the inventory and sales CSV files (missing
+     * files start empty), applies the transactions and saves both files back.
+     *
+     * @param inventoryPath    inventory CSV, read and rewritten
+     * @param salesPath        sales CSV, read and rewritten
+     * @param transactionsPath the command file
+     * @param out              where errors and the summary are written
+     * @return 0 if every command succeeded, 1 if some failed, 2 on an I/O error
+     */
+    public static int run(String inventoryPath, String salesPath, String transactionsPath, PrintWriter out) {
+        try {
+            long start = System.nanoTime();
+            InventoryManager inv = Files.exists(Paths.get(inventoryPath))
+                    ? new InventoryManager(inventoryPath) : new InventoryManager();
+            SalesManager sm = Files.exists(Paths.get(salesPath))
+                    ? new SalesManager(salesPath, inv) : new SalesManager(inv);
+            BatchRunner runner = new BatchRunner(inv, sm, out);
+            long loaded = System.nanoTime();
+            try (BufferedReader in = Files.newBufferedReader(Path.of(transactionsPath), StandardCharsets.UTF_8)) {
+                runner.process(in);
+            }
+            long processed = System.nanoTime();
+            inv.saveInventory(inventoryPath);
+            sm.saveSales(salesPath);
+            long saved = System.nanoTime();
+            runner.printSummary(processed - loaded);
+            out.printf("Loaded data in %.3f s, saved in %.3f s%n", seconds(loaded - start), seconds(saved - processed));
+            return runner.getFailed() == 0 ? 0 : 1;
+        } catch (IOException | UncheckedIOException e) {
+            out.println("Batch aborted: " + e.getMessage());
+            return 2;
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Applies every command read from {@code in}.
+     *
+     * @param in the transaction lines
+     * @throws IOException if reading fails
+     */
+    public void process(BufferedReader in) throws IOException {
+        String line;
+        long lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            commands++;
+            try {
+                apply(line);
+            } catch (IllegalArgumentException | IllegalStateException | DateTimeException e) {
+                failed++;
+                out.println("Line " + lineNo + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void apply(String line) {
+        tok.reset(line);
+        String command = tok.nextString();
+        switch (command) {
+            case "add":
+                inventory.addBook(readBook());
+                added++;
+                break;
+            case "update":
+                Book book = readBook();
+                if (!inventory.updateBook(book)) {
+                    throw new IllegalArgumentException("No book found with ISBN " + book.getIsbn());
+                }
+                updated++;
+                break;
+            case "remove":
+                String isbn = tok.nextString();
+                endOfCommand();
+                if (!inventory.removeBook(isbn)) {
+                    throw new IllegalArgumentException("No book found with ISBN " + isbn);
+                }
+                removed++;
+                break;
+            case "sell":
+                String sellIsbn = tok.nextString();
+                int qty = tok.nextInt();
+                LocalDateTime ts = tok.hasMoreFields() ? tok.nextTimestamp() : null;
+                endOfCommand();
+                inventory.sell(sellIsbn, qty, sales, ts);
+                sold++;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    private Book readBook() {
+        Book book = Book.ofCents(tok.nextString(), tok.nextString(), tok.nextString(), tok.nextCents(),
+                tok.nextInt());
+        endOfCommand();
+        if (book.getIsbn().isEmpty()) {
+            throw new IllegalArgumentException("ISBN cannot be empty");
+        }
+        return book;
+    }
+
+    private void endOfCommand() {
+        if (tok.hasMoreFields()) {
+            throw new IllegalArgumentException("Too many fields");
+        }
+    }
+
+    /**
+     * Prints the command counts and throughput.
+     *
+     * @param elapsedNanos time spent in {@link #process}, excluding any file loading or saving
+     */
+    public void printSummary(long elapsedNanos) {
+        double seconds = seconds(elapsedNanos);
+        out.printf("Processed %d commands in %.3f s (%.0f commands/s)%n", commands, seconds, commands / seconds);
+        out.printf("added=%d, updated=%d, removed=%d, sold=%d, failed=%d%n",
+                added, updated, removed, sold, failed);
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1e9;
+    }
+
+    /**
+     * Returns the number of commands that failed.
+     *
+     * @return failed command count
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of commands applied or attempted.
+     *
+     * @return command count, excluding blank and comment lines
+     */
+    public long getCommands() {
+        return commands;
+    }
+}
@@ -1,12 +1,21 @@
 package com.ibrahim.bookstore;
 
+import com.ibrahim.bookstore.metrics.Metrics;
 import com.ibrahim.bookstore.model.Book;
 import com.ibrahim.bookstore.service.InventoryManager;
 import com.ibrahim.bookstore.service.ReportGenerator;
 import com.ibrahim.bookstore.service.SalesManager;
 import com.ibrahim.bookstore.util.CLI;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Entry point for the Bookstore Inventory Manager console application.
@@ -14,20 +23,82 @@ import java.time.LocalDate;
  * Initializes services and runs the main CLI loop until the user exits.
  */
 public class Main {
+    /** Inventory snapshot loaded on start and saved on exit, unless given as an argument. */
+    private static final String DEFAULT_INVENTORY_PATH = "inventory.csv";
+    /** Sales snapshot loaded on start and checkpointed on exit, unless given as an argument. */
+    private static final String DEFAULT_SALES_PATH = "sales.csv";
+    /** Suffix of the write-ahead journal kept next to the sales snapshot. */
+    private static final String JOURNAL_SUFFIX = ".journal";
+    /** Stock level below which a sale or update prints a reorder alert. */
+    private static final int REORDER_THRESHOLD = 5;
+    /** Maximum number of search results shown. */
+    private static final int SEARCH_LIMIT = 20;
+
     /** Prevent instantiation. */
     private Main() { throw new AssertionError("Cannot instantiate Main"); }
 
     /**
      * Application entry point.
      *
-     * @param args command-line arguments (ignored)
+     * <p>With {@code --batch <inventory.csv> <sales.csv> <transactions.csv>}
+     * the application runs headless through {@link BatchRunner} and exits
+     * with its status code. Otherwise it starts the interactive menu on the
+     * inventory and sales snapshots given as {@code [<inventory.csv> <sales.csv>]}
+     * (default {@code inventory.csv} and {@code sales.csv}): both are loaded
+     * if present, the sales journal next to the sales snapshot is replayed on
+     * top of them, and on exit both are saved back to the same paths, which
+     * checkpoints the journal.</p>
+     *
+     * @param args command-line arguments
      */
     public static void main(String[] args) {
-        InventoryManager invMgr = new InventoryManager();
-        SalesManager salesMgr = new SalesManager();
+        if (args.length > 0 && args[0].equals("--batch")) {
+            if (args.length != 4) {
+                System.err.println("Usage: --batch <inventory.csv> <sales.csv> <transactions.csv>");
+                System.exit(2);
+            }
+            PrintWriter out = new PrintWriter(new BufferedWriter(
+                    new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+            System.exit(BatchRunner.run(args[1], args[2], args[3], out));
+        }
+        if (args.length != 0 && args.length != 2) {
+            System.err.println("Usage: [<inventory.csv> <sales.csv>] | --batch <inventory.csv> <sales.csv> "
+                    + "<transactions.csv>");
+            System.exit(2);
+        }
+        String invPath = args.length == 2 ? args[0] : DEFAULT_INVENTORY_PATH;
+        String salesPath = args.length == 2 ? args[1] : DEFAULT_SALES_PATH;
+        String journalPath = salesPath + JOURNAL_SUFFIX;
+        Metrics.registerMBeans();
+        InventoryManager invMgr;
+        SalesManager salesMgr;
+        try {
+            invMgr = Files.exists(Paths.get(invPath)) ? new InventoryManager(invPath) : new InventoryManager();
+            salesMgr = new SalesManager(invMgr);
+            if (Files.exists(Paths.get(salesPath))) {
+                salesMgr.loadSales(salesPath);
+            }
+        } catch (IOException e) {
+            // Starting empty would overwrite the unreadable snapshot on exit.
+            System.err.println("Cannot load saved data: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        invMgr.setDefaultReorderThreshold(REORDER_THRESHOLD);
+        invMgr.addLowStockListener((book, qty, threshold) -> CLI.printMessage(String.format(
+                "Reorder alert: %s (%s) is down to %d, below %d.",
+                book.getTitle(), book.getIsbn(), qty, threshold)));
         ReportGenerator reportGen = new ReportGenerator(invMgr, salesMgr);
 
         CLI.printMessage("Welcome to the Bookstore Inventory Manager!");
+        try {
+            int recovered = salesMgr.openJournal(journalPath);
+            if (recovered > 0) {
+                CLI.printMessage("Recovered " + recovered + " unsaved sale(s) from " + journalPath + ".");
+            }
+        } catch (IOException e) {
+            CLI.printError("Sales journal unavailable, sales will only be saved on exit: " + e.getMessage());
+        }
 
         while (true) {
             int choice = CLI.showMainMenu();
@@ -48,8 +119,12 @@ public class Main {
                 case 2:
                     // Add a new book
                     Book newBook = CLI.promptBookDetails();
-                    invMgr.addBook(newBook);
-                    CLI.printMessage("Book added successfully.");
+                    try {
+                        invMgr.addBook(newBook);
+                        CLI.printMessage("Book added successfully.");
+                    } catch (IllegalArgumentException e) {
+                        CLI.printError("A book with ISBN " + newBook.getIsbn() + " already exists.");
+                    }
                     CLI.pressEnterToContinue();
                     break;
 
@@ -91,20 +166,12 @@ public class Main {
                         CLI.printError("No book found with ISBN " + saleIsbn);
                     } else {
                         int saleQty = CLI.promptQuantity();
-                        if (saleQty > saleBook.getQuantity()) {
-                            CLI.printError("Not enough stock. Available: " + saleBook.getQuantity());
-                        } else {
-                            salesMgr.recordSale(saleBook, saleQty);
-                            // decrement inventory
-                            Book postSale = new Book(
-                                    saleBook.getIsbn(),
-                                    saleBook.getTitle(),
-                                    saleBook.getAuthor(),
-                                    saleBook.getPrice(),
-                                    saleBook.getQuantity() - saleQty
-                            );
-                            invMgr.updateBook(postSale);
+                        try {
+                            // check stock, decrement inventory and record in one step
+                            invMgr.sell(saleIsbn, saleQty, salesMgr);
                             CLI.printMessage("Sale recorded.");
+                        } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+                            CLI.printError(e.getMessage());
                         }
                     }
                     CLI.pressEnterToContinue();
@@ -117,7 +184,8 @@ public class Main {
                     CLI.printMessage("2) Top-selling books");
                     CLI.printMessage("3) Low-stock alert");
                     CLI.printMessage("4) Sales by date range");
-                    int rptChoice = CLI.promptIntInRange("Select report (1-4):", 1, 4);
+                    CLI.printMessage("5) Dashboard");
+                    int rptChoice = CLI.promptIntInRange("Select report (1-5):", 1, 5);
                     switch (rptChoice) {
                         case 1:
                             reportGen.printTotalSales();
@@ -138,22 +206,52 @@ public class Main {
                                     LocalDate.parse(to)
                             );
                             break;
+                        case 5:
+                            String dashFrom = CLI.promptFilePath("start date (YYYY-MM-DD)");
+                            String dashTo   = CLI.promptFilePath("end date (YYYY-MM-DD)");
+                            int dashTop = CLI.promptQuantity();
+                            reportGen.printDashboard(
+                                    LocalDate.parse(dashFrom),
+                                    LocalDate.parse(dashTo),
+                                    dashTop
+                            );
+                            break;
                     }
                     CLI.pressEnterToContinue();
                     break;
 
                 case 7:
+                    // Search books by title or author
+                    String query = CLI.promptSearchQuery();
+                    List<Book> found = invMgr.searchBooks(query, SEARCH_LIMIT);
+                    if (found.isEmpty()) {
+                        CLI.printMessage("No books match \"" + query + "\".");
+                    }
+                    for (Book b : found) {
+                        CLI.printMessage(String.format(
+                                "%s | %s | %s | €%.2f | Qty: %d",
+                                b.getIsbn(), b.getTitle(), b.getAuthor(),
+                                b.getPrice(), b.getQuantity()
+                        ));
+                    }
+                    CLI.pressEnterToContinue();
+                    break;
+
+                case 8:
                     // Exit application
                     CLI.printMessage("Goodbye!");
                     try {
-                        String invPath = CLI.promptFilePath("inventory CSV to save");
                         invMgr.saveInventory(invPath);
-                        String salesPath = CLI.promptFilePath("sales CSV to save");
                         salesMgr.saveSales(salesPath);
-                        CLI.printMessage("Data saved successfully.");
+                        CLI.printMessage("Data saved to " + invPath + " and " + salesPath + ".");
                     } catch (IOException e) {
                         CLI.printError("Error saving data: " + e.getMessage());
                     }
+                    try {
+                        salesMgr.closeJournal();
+                    } catch (IOException e) {
+                        CLI.printError("Error closing sales journal: " + e.getMessage());
+                    }
                     System.exit(0);
                     break;
             }
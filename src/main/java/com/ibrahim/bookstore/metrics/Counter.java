@@ -0,0 +1,57 @@
+package com.ibrahim.bookstore.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free event counter backed by a {@link LongAdder}; updates are
+ * dropped when {@link Metrics#ENABLED} is {@code false}.
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder adder = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the registry name.
+     *
+     * @return the counter name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /** Adds one. */
+    public void increment() {
+        if (Metrics.ENABLED) {
+            adder.increment();
+        }
+    }
+
+    /**
+     * Adds {@code n}.
+     *
+     * @param n the amount to add
+     */
+    public void add(long n) {
+        if (Metrics.ENABLED) {
+            adder.add(n);
+        }
+    }
+
+    /**
+     * Returns the current total.
+     *
+     * @return the sum of all additions since the last reset
+     */
+    public long get() {
+        return adder.sum();
+    }
+
+    /** Sets the total back to zero. */
+    public void reset() {
+        adder.reset();
+    }
+}
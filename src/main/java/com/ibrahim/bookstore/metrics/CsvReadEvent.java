@@ -0,0 +1,63 @@
+package com.ibrahim.bookstore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one CSV file read, from opening the file to the last parsed row.
+ */
+@Name("com.ibrahim.bookstore.CsvRead")
+@Label("CSV Read")
+@Category({"Bookstore", "CSV"})
+@Description("Inventory or sales CSV file read and parsed")
+@StackTrace(false)
+public final class CsvReadEvent extends jdk.jfr.Event {
+    @Label("File")
+    private String file;
+
+    @Label("Rows")
+    @Description("Data rows parsed")
+    private long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Malformed Rows")
+    @Description("Data rows skipped because they could not be parsed")
+    private long malformed;
+
+    /**
+     * Creates and begins an event for reading {@code file}.
+     *
+     * @param file the path being read
+     * @return the started event
+     */
+    public static CsvReadEvent start(String file) {
+        CsvReadEvent event = new CsvReadEvent();
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     *
+     * @param rows      data rows parsed
+     * @param malformed data rows skipped
+     * @param bytes     file size
+     */
+    public void finish(long rows, long malformed, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.malformed = malformed;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ibrahim.bookstore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one CSV file written in full.
+ */
+@Name("com.ibrahim.bookstore.CsvWrite")
+@Label("CSV Write")
+@Category({"Bookstore", "CSV"})
+@Description("Inventory or sales CSV file written")
+@StackTrace(false)
+public final class CsvWriteEvent extends jdk.jfr.Event {
+    @Label("File")
+    private String file;
+
+    @Label("Rows")
+    @Description("Data rows written")
+    private long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Creates and begins an event for writing {@code file}.
+     *
+     * @param file the path being written
+     * @return the started event
+     */
+    public static CsvWriteEvent start(String file) {
+        CsvWriteEvent event = new CsvWriteEvent();
+        event.file = file;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     *
+     * @param rows  data rows written
+     * @param bytes bytes written, including the header
+     */
+    public void finish(long rows, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
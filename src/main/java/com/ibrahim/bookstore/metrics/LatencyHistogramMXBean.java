@@ -0,0 +1,51 @@
+package com.ibrahim.bookstore.metrics;
+
+/**
+ * JMX view of one {@link LatencyHistogram}; times are in microseconds.
+ */
+public interface LatencyHistogramMXBean {
+    /**
+     * Returns the number of recorded operations.
+     *
+     * @return operation count
+     */
+    long getCount();
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return mean in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * Returns the median latency.
+     *
+     * @return 50th percentile in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * Returns the 90th percentile latency.
+     *
+     * @return 90th percentile in microseconds
+     */
+    double getP90Micros();
+
+    /**
+     * Returns the 99th percentile latency.
+     *
+     * @return 99th percentile in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return maximum in microseconds
+     */
+    double getMaxMicros();
+
+    /** Clears all recorded values. */
+    void reset();
+}
@@ -0,0 +1,201 @@
+package com.ibrahim.bookstore.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of latency histograms and counters for the hot
+ * paths: book lookups, sale recording, CSV reads and writes, and reports.
+ *
+ * <p>Collection is switched off with {@code -Dbookstore.metrics.disabled=true}.
+ * {@link #ENABLED} is a {@code static final} constant, so the JIT folds the
+ * checks in {@link #start()}, {@link LatencyHistogram#stop(long)} and
+ * {@link Counter#add(long)} away and disabled metrics cost nothing beyond
+ * the call sites themselves.</p>
+ *
+ * <p>Values are read through {@link #dump()} or, after
+ * {@link #registerMBeans()}, over JMX under the
+ * {@code com.ibrahim.bookstore} domain.</p>
+ */
+public final class Metrics {
+    /** Whether metrics are collected; fixed at class initialisation. */
+    public static final boolean ENABLED = !Boolean.getBoolean("bookstore.metrics.disabled");
+
+    /** JMX domain of the registered MBeans. */
+    public static final String JMX_DOMAIN = "com.ibrahim.bookstore";
+
+    private static final ConcurrentMap<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static boolean registered;
+
+    /** {@code InventoryManager.findBook} latency. */
+    public static final LatencyHistogram FIND_BOOK = histogram("inventory.findBook");
+    /** {@code SalesManager.recordSale} latency. */
+    public static final LatencyHistogram RECORD_SALE = histogram("sales.recordSale");
+    /** {@code SalesManager.recordSales} latency, per batch. */
+    public static final LatencyHistogram RECORD_SALES = histogram("sales.recordSales");
+    /** Time to read and parse a whole CSV file. */
+    public static final LatencyHistogram CSV_READ = histogram("csv.read");
+    /** Time to write a whole CSV file. */
+    public static final LatencyHistogram CSV_WRITE = histogram("csv.write");
+    /** Total revenue report. */
+    public static final LatencyHistogram REPORT_TOTAL_SALES = histogram("report.totalSales");
+    /** Top-selling books report. */
+    public static final LatencyHistogram REPORT_TOP_SELLING = histogram("report.topSelling");
+    /** Low-stock report. */
+    public static final LatencyHistogram REPORT_LOW_STOCK = histogram("report.lowStock");
+    /** Sales-by-date-range report. */
+    public static final LatencyHistogram REPORT_SALES_BY_DATE = histogram("report.salesByDateRange");
+    /** Dashboard report. */
+    public static final LatencyHistogram REPORT_DASHBOARD = histogram("report.dashboard");
+
+    /** Data rows parsed from CSV files. */
+    public static final Counter CSV_ROWS_READ = counter("csv.rowsRead");
+    /** Data rows skipped as malformed while reading CSV files. */
+    public static final Counter CSV_ROWS_MALFORMED = counter("csv.rowsMalformed");
+    /** Bytes of CSV read. */
+    public static final Counter CSV_BYTES_READ = counter("csv.bytesRead");
+    /** Data rows written to CSV files. */
+    public static final Counter CSV_ROWS_WRITTEN = counter("csv.rowsWritten");
+    /** HTTP requests answered 503 because the worker queue was full. */
+    public static final Counter HTTP_REJECTED = counter("http.rejected");
+
+    /** Prevent instantiation. */
+    private Metrics() { throw new AssertionError("Cannot instantiate Metrics"); }
+
+    /**
+     * Returns the start time for a measurement.
+     *
+     * @return {@link System#nanoTime()}, or 0 when metrics are disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     *
+     * @param name the metric name, e.g. {@code report.dashboard}
+     * @return the shared histogram
+     */
+    public static LatencyHistogram histogram(String name) {
+        LatencyHistogram h = HISTOGRAMS.get(name);
+        if (h != null) {
+            return h;
+        }
+        synchronized (Metrics.class) {
+            h = HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+            if (registered) {
+                register(h, "Latency", name);
+            }
+            return h;
+        }
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name the metric name, e.g. {@code csv.rowsRead}
+     * @return the shared counter
+     */
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /** Clears every histogram and counter. */
+    public static void reset() {
+        HISTOGRAMS.values().forEach(LatencyHistogram::reset);
+        COUNTERS.values().forEach(Counter::reset);
+    }
+
+    /**
+     * Formats every histogram that has recorded values, and every counter,
+     * as a plain-text table with times in microseconds.
+     *
+     * @return the dump, one metric per line
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-28s %10s %10s %10s %10s %10s %10s%n",
+                "Latency (us)", "count", "mean", "p50", "p90", "p99", "max"));
+        for (LatencyHistogram h : new TreeMap<>(HISTOGRAMS).values()) {
+            if (h.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-28s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    h.getName(), h.getCount(), h.getMeanMicros(), h.getP50Micros(), h.getP90Micros(),
+                    h.getP99Micros(), h.getMaxMicros()));
+        }
+        sb.append(String.format(Locale.ROOT, "%-28s %10s%n", "Counter", "value"));
+        for (Map.Entry<String, Long> e : counters().entrySet()) {
+            sb.append(String.format(Locale.ROOT, "%-28s %10d%n", e.getKey(), e.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Registers the registry and every histogram with the platform MBean
+     * server; histograms created later are registered as they appear.
+     * Calling it again has no effect.
+     *
+     * @throws IllegalStateException if JMX rejects a registration
+     */
+    public static synchronized void registerMBeans() {
+        if (registered) {
+            return;
+        }
+        register(new Registry(), "Metrics", null);
+        for (LatencyHistogram h : HISTOGRAMS.values()) {
+            register(h, "Latency", h.getName());
+        }
+        registered = true;
+    }
+
+    private static Map<String, Long> counters() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, c) -> values.put(name, c.get()));
+        return values;
+    }
+
+    private static void register(Object mbean, String type, String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type
+                    + (name == null ? "" : ",name=" + ObjectName.quote(name)));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(mbean, objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register MBean " + type + " " + name, e);
+        }
+    }
+
+    private static final class Registry implements MetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
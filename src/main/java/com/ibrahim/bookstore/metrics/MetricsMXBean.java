@@ -0,0 +1,32 @@
+package com.ibrahim.bookstore.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the whole {@link Metrics} registry.
+ */
+public interface MetricsMXBean {
+    /**
+     * Returns whether metrics are being collected.
+     *
+     * @return the value of {@link Metrics#ENABLED}
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the current value of every counter.
+     *
+     * @return counter names mapped to their values
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the text dump of all histograms and counters.
+     *
+     * @return the same text as {@link Metrics#dump()}
+     */
+    String dump();
+
+    /** Clears every histogram and counter. */
+    void reset();
+}
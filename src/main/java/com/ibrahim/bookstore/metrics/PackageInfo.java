@@ -0,0 +1,26 @@
+/**
+ * Low-overhead runtime metrics for the Bookstore Inventory Manager.
+ *
+ * <p>The {@code com.ibrahim.bookstore.metrics} package measures the hot
+ * paths of the service layer:</p>
+ * <ul>
+ *   <li>{@link com.ibrahim.bookstore.metrics.Metrics} – process-wide registry
+ *       with the well-known instruments, a text dump, JMX registration and a
+ *       {@code static final} switch that compiles disabled metrics away.</li>
+ *   <li>{@link com.ibrahim.bookstore.metrics.LatencyHistogram} – lock-free,
+ *       fixed-size log-linear latency histogram reporting percentiles.</li>
+ *   <li>{@link com.ibrahim.bookstore.metrics.Counter} – lock-free event
+ *       counter.</li>
+ *   <li>{@link com.ibrahim.bookstore.metrics.MetricsMXBean} and
+ *       {@link com.ibrahim.bookstore.metrics.LatencyHistogramMXBean} – the
+ *       JMX views.</li>
+ *   <li>{@link com.ibrahim.bookstore.metrics.CsvReadEvent},
+ *       {@link com.ibrahim.bookstore.metrics.CsvWriteEvent},
+ *       {@link com.ibrahim.bookstore.metrics.SaleRecordedEvent},
+ *       {@link com.ibrahim.bookstore.metrics.SalesBatchRecordedEvent} and
+ *       {@link com.ibrahim.bookstore.metrics.ReportEvent} – custom JFR
+ *       events, shown under the <em>Bookstore</em> category in JDK Mission
+ *       Control.</li>
+ * </ul>
+ */
+package com.ibrahim.bookstore.metrics;
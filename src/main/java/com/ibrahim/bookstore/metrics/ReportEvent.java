@@ -0,0 +1,52 @@
+package com.ibrahim.bookstore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one generated report; the event duration is the time to
+ * compute and print it.
+ */
+@Name("com.ibrahim.bookstore.Report")
+@Label("Report")
+@Category({"Bookstore", "Reports"})
+@Description("Report computed and printed by ReportGenerator")
+@StackTrace(false)
+public final class ReportEvent extends jdk.jfr.Event {
+    @Label("Report")
+    private String report;
+
+    @Label("Rows Scanned")
+    @Description("Sales, books or titles the report fetched to build its output, before any paging; "
+            + "0 when it is answered from running totals alone")
+    private long rowsScanned;
+
+    /**
+     * Creates and begins an event for the named report.
+     *
+     * @param report the report name, e.g. {@code dashboard}
+     * @return the started event
+     */
+    public static ReportEvent start(String report) {
+        ReportEvent event = new ReportEvent();
+        event.report = report;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     *
+     * @param rowsScanned rows the report fetched, whether or not a sink printed them
+     */
+    public void finish(long rowsScanned) {
+        end();
+        if (shouldCommit()) {
+            this.rowsScanned = rowsScanned;
+            commit();
+        }
+    }
+}
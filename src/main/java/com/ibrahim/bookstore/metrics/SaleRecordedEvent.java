@@ -0,0 +1,55 @@
+package com.ibrahim.bookstore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code SalesManager.recordSale} call, including the
+ * wait for the journal to make the sale durable.
+ */
+@Name("com.ibrahim.bookstore.SaleRecorded")
+@Label("Sale Recorded")
+@Category({"Bookstore", "Sales"})
+@Description("Sale appended to the history and, if open, the journal")
+@StackTrace(false)
+public final class SaleRecordedEvent extends jdk.jfr.Event {
+    @Label("ISBN")
+    private String isbn;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Amount (cents)")
+    private long amountCents;
+
+    /**
+     * Creates and begins an event.
+     *
+     * @return the started event
+     */
+    public static SaleRecordedEvent start() {
+        SaleRecordedEvent event = new SaleRecordedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     *
+     * @param isbn        the ISBN sold
+     * @param quantity    copies sold
+     * @param amountCents sale total in cents
+     */
+    public void finish(String isbn, int quantity, long amountCents) {
+        end();
+        if (shouldCommit()) {
+            this.isbn = isbn;
+            this.quantity = quantity;
+            this.amountCents = amountCents;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ibrahim.bookstore.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code SalesManager.recordSales} batch, including the
+ * single wait for the journal to make the batch durable.
+ */
+@Name("com.ibrahim.bookstore.SalesBatchRecorded")
+@Label("Sales Batch Recorded")
+@Category({"Bookstore", "Sales"})
+@Description("Batch of sales appended to the history and, if open, the journal")
+@StackTrace(false)
+public final class SalesBatchRecordedEvent extends jdk.jfr.Event {
+    @Label("Sales Recorded")
+    private int recorded;
+
+    @Label("Sales Invalid")
+    private int invalid;
+
+    @Label("Units")
+    private long units;
+
+    @Label("Amount (cents)")
+    private long amountCents;
+
+    /**
+     * Creates and begins an event.
+     *
+     * @return the started event
+     */
+    public static SalesBatchRecordedEvent start() {
+        SalesBatchRecordedEvent event = new SalesBatchRecordedEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     *
+     * @param recorded    sales appended
+     * @param invalid     sales skipped as invalid
+     * @param units       copies sold across the batch
+     * @param amountCents batch total in cents
+     */
+    public void finish(int recorded, int invalid, long units, long amountCents) {
+        end();
+        if (shouldCommit()) {
+            this.recorded = recorded;
+            this.invalid = invalid;
+            this.units = units;
+            this.amountCents = amountCents;
+            commit();
+        }
+    }
+}
@@ -4,13 +4,14 @@ package com.ibrahim.bookstore.model;
  * Represents a single book in inventory.
  *
  * <p>Each {@code Book} has an ISBN, title, author, unit price, and
- * a current stock quantity.</p>
+ * a current stock quantity. The price is held as a whole number of cents
+ * (see {@link Money}); the {@code double} accessors convert on the fly.</p>
  */
 public class Book {
     private String isbn;
     private String title;
     private String author;
-    private double price;
+    private long priceCents;
     private int quantity;
 
     /**
@@ -73,16 +74,34 @@ public class Book {
      * @return the price as a double
      */
     public double getPrice() {
-        return price;
+        return Money.toDouble(priceCents);
     }
 
     /**
-     * Sets the unit price.
+     * Sets the unit price, rounded half-up to the cent.
      *
      * @param price the price to assign (non-negative)
      */
     public void setPrice(double price) {
-        this.price = price;
+        this.priceCents = Money.toCents(price);
+    }
+
+    /**
+     * Returns the unit price in cents.
+     *
+     * @return the price in cents
+     */
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * Sets the unit price in cents.
+     *
+     * @param priceCents the price to assign, in cents (non-negative)
+     */
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
 
     /**
@@ -109,14 +128,34 @@ public class Book {
      * @param isbn     the ISBN code
      * @param title    the book title
      * @param author   the author name
-     * @param price    the unit price
+     * @param price    the unit price, rounded half-up to the cent
      * @param quantity initial stock
      */
     public Book(String isbn, String title, String author, double price, int quantity) {
+        this(isbn, title, author, quantity);
+        this.priceCents = Money.toCents(price);
+    }
+
+    private Book(String isbn, String title, String author, int quantity) {
         this.isbn = isbn;
         this.title = title;
         this.author = author;
-        this.price = price;
         this.quantity = quantity;
     }
+
+    /**
+     * Constructs a new Book with a price given in cents.
+     *
+     * @param isbn       the ISBN code
+     * @param title      the book title
+     * @param author     the author name
+     * @param priceCents the unit price in cents
+     * @param quantity   initial stock
+     * @return the new book
+     */
+    public static Book ofCents(String isbn, String title, String author, long priceCents, int quantity) {
+        Book b = new Book(isbn, title, author, quantity);
+        b.priceCents = priceCents;
+        return b;
+    }
 }
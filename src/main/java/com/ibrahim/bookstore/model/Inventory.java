@@ -1,39 +1,55 @@
 package com.ibrahim.bookstore.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * Represents the bookstore’s inventory of books.
+ *
+ * <p>Books are indexed by ISBN in insertion order, so lookups, updates and
+ * removals run in constant time while {@link #getBooks()} still lists books
+ * in the order they were added.</p>
  */
 public class Inventory {
-    private final List<Book> books;
+    private final Map<String, Book> books;
 
     /**
      * Constructs an empty Inventory.
      */
     public Inventory() {
-        this.books = new ArrayList<>();
+        this.books = new LinkedHashMap<>();
     }
 
     /**
      * Returns an unmodifiable list of all books in inventory.
      *
-     * @return an unmodifiable {@link List} of {@link Book} instances
+     * @return an unmodifiable {@link List} of {@link Book} instances, in insertion order
      */
     public List<Book> getBooks() {
-        return Collections.unmodifiableList(books);
+        return List.copyOf(books.values());
+    }
+
+    /**
+     * Returns the number of books in inventory.
+     *
+     * @return the number of distinct ISBNs held
+     */
+    public int size() {
+        return books.size();
     }
 
     /**
      * Adds a new book to the inventory.
      *
      * @param book the {@link Book} to add (must not be null)
+     * @throws IllegalArgumentException if a book with the same ISBN is already present
      */
     public void addBook(Book book) {
-        books.add(book);
+        Book previous = books.putIfAbsent(book.getIsbn(), book);
+        if (previous != null) {
+            throw new IllegalArgumentException("Duplicate ISBN: " + book.getIsbn());
+        }
     }
 
     /**
@@ -43,7 +59,7 @@ public class Inventory {
      * @return {@code true} if a book was removed, {@code false} otherwise
      */
     public boolean removeBookByIsbn(String isbn) {
-        return books.removeIf(b -> b.getIsbn().equals(isbn));
+        return books.remove(isbn) != null;
     }
 
     /**
@@ -53,18 +69,15 @@ public class Inventory {
      * @return {@code true} if the book was found and updated, {@code false} otherwise
      */
     public boolean updateBook(Book updated) {
-        Optional<Book> existing = books.stream()
-                .filter(b -> b.getIsbn().equals(updated.getIsbn()))
-                .findFirst();
-        if (existing.isPresent()) {
-            Book b = existing.get();
-            b.setTitle(updated.getTitle());
-            b.setAuthor(updated.getAuthor());
-            b.setPrice(updated.getPrice());
-            b.setQuantity(updated.getQuantity());
-            return true;
+        Book b = books.get(updated.getIsbn());
+        if (b == null) {
+            return false;
         }
-        return false;
+        b.setTitle(updated.getTitle());
+        b.setAuthor(updated.getAuthor());
+        b.setPriceCents(updated.getPriceCents());
+        b.setQuantity(updated.getQuantity());
+        return true;
     }
 
     /**
@@ -74,9 +87,6 @@ public class Inventory {
      * @return the {@link Book} if found, or {@code null} if not present
      */
     public Book findByIsbn(String isbn) {
-        return books.stream()
-                .filter(b -> b.getIsbn().equals(isbn))
-                .findFirst()
-                .orElse(null);
+        return books.get(isbn);
     }
 }
@@ -0,0 +1,146 @@
+package com.ibrahim.bookstore.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers.
+ *
+ * <p>Amounts are held as a {@code long} number of cents, so sums are exact
+ * integer additions with no rounding drift. Conversions to and from text and
+ * {@code double} round half-up to the cent, matching the {@code %.2f} layout
+ * the CSV files have always used.</p>
+ */
+public final class Money {
+    /** Above this many cents a {@code double} can no longer be rounded reliably without BigDecimal. */
+    private static final double MAX_FAST_CENTS = 1e15;
+
+    /** Prevent instantiation. */
+    private Money() {
+    }
+
+    /**
+     * Converts an amount to cents, rounding half-up like {@code %.2f}.
+     *
+     * @param amount an amount in currency units
+     * @return the amount in whole cents
+     */
+    public static long toCents(double amount) {
+        double scaled = Math.abs(amount) * 100;
+        long cents;
+        if (scaled < MAX_FAST_CENTS && Math.abs(scaled - Math.floor(scaled) - 0.5) > 4 * Math.ulp(scaled)) {
+            cents = Math.round(scaled);
+        } else {
+            // Too close to a rounding boundary for binary arithmetic; round the
+            // shortest decimal representation, as the formatter does.
+            cents = BigDecimal.valueOf(Math.abs(amount)).setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+        return amount < 0 ? -cents : cents;
+    }
+
+    /**
+     * Converts cents to an amount in currency units.
+     *
+     * @param cents an amount in cents
+     * @return the amount as a {@code double}
+     */
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Parses a decimal amount such as {@code 12.99} or {@code -3.5} into cents.
+     *
+     * @param text the amount
+     * @return the amount in cents, rounded half-up
+     * @throws NumberFormatException if the text is not a decimal number
+     */
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a decimal amount from part of a character sequence into cents.
+     *
+     * <p>Plain decimals are decoded digit by digit; only the third fraction
+     * digit matters for half-up rounding. Other notations, such as exponents,
+     * fall back to {@link BigDecimal}.</p>
+     *
+     * @param text  the characters
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the amount in cents, rounded half-up
+     * @throws NumberFormatException if the range is not a decimal number
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long units = 0;
+        int fraction = 0;
+        int fractionDigits = -1;
+        boolean roundUp = false;
+        boolean sawDigit = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            int d = c - '0';
+            if (d >= 0 && d <= 9) {
+                sawDigit = true;
+                if (fractionDigits < 0) {
+                    if (units > (Long.MAX_VALUE / 100 - 99) / 10) {
+                        return parseSlow(text, start, end);
+                    }
+                    units = units * 10 + d;
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + d;
+                    fractionDigits++;
+                } else if (fractionDigits == 2) {
+                    roundUp = d >= 5;
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseSlow(text, start, end);
+            }
+        }
+        if (!sawDigit) {
+            throw new NumberFormatException("For input string: \"" + text.subSequence(start, end) + "\"");
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Formats cents as a decimal with exactly two fraction digits, e.g. {@code 12.50}.
+     *
+     * @param cents an amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder(24);
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(cents);
+        long c = abs % 100;
+        return sb.append(abs / 100).append('.').append((char) ('0' + c / 10)).append((char) ('0' + c % 10))
+                .toString();
+    }
+
+    private static long parseSlow(CharSequence text, int start, int end) {
+        String s = text.subSequence(start, end).toString();
+        try {
+            return new BigDecimal(s).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: \"" + s + "\"");
+        }
+    }
+}
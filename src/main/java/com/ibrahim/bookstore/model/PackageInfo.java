@@ -8,9 +8,11 @@
  *   <li>{@link com.ibrahim.bookstore.model.Book}
  *       – encapsulates ISBN, title, author, price, and quantity.</li>
  *   <li>{@link com.ibrahim.bookstore.model.Inventory}
- *       – in-memory list of {@code Book} with CRUD operations.</li>
+ *       – in-memory ISBN index of {@code Book} with CRUD operations.</li>
  *   <li>{@link com.ibrahim.bookstore.model.Sale}
- *       – records a sale transaction with timestamp.</li>
+ *       – records a sale transaction with timestamp and unit price.</li>
+ *   <li>{@link com.ibrahim.bookstore.model.Money}
+ *       – fixed-point helpers for amounts held as {@code long} cents.</li>
  * </ul>
  *
  * <p>All public APIs include full Javadoc on constructors, getters, and setters.</p>
@@ -4,11 +4,15 @@ import java.time.LocalDateTime;
 
 /**
  * Represents a sale transaction for a given book.
+ *
+ * <p>The unit price is captured in cents when the sale is created, so later
+ * repricing of the book does not change what the sale earned.</p>
  */
 public class Sale {
     private final Book book;
     private final int quantity;
     private final LocalDateTime timestamp;
+    private final long priceCents;
 
     /**
      * Constructs a Sale record.
@@ -18,9 +22,22 @@ public class Sale {
      * @param timestamp when the sale occurred
      */
     public Sale(Book book, int quantity, LocalDateTime timestamp) {
+        this(book, quantity, timestamp, book.getPriceCents());
+    }
+
+    /**
+     * Constructs a Sale record at an explicit unit price.
+     *
+     * @param book       the book sold
+     * @param quantity   how many copies
+     * @param timestamp  when the sale occurred
+     * @param priceCents the unit price charged, in cents
+     */
+    public Sale(Book book, int quantity, LocalDateTime timestamp, long priceCents) {
         this.book = book;
         this.quantity = quantity;
         this.timestamp = timestamp;
+        this.priceCents = priceCents;
     }
 
     /**
@@ -49,4 +66,22 @@ public class Sale {
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
+
+    /**
+     * Returns the unit price charged, in cents.
+     *
+     * @return the price in cents at the time of sale
+     */
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    /**
+     * Returns what this sale earned, in cents.
+     *
+     * @return unit price × quantity, in cents
+     */
+    public long getAmountCents() {
+        return priceCents * quantity;
+    }
 }
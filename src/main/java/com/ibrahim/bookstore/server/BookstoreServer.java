@@ -0,0 +1,489 @@
+package com.ibrahim.bookstore.server;
+
+import com.ibrahim.bookstore.metrics.Metrics;
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Money;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.SalesManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON front-end for an {@link InventoryManager} and its
+ * {@link SalesManager}, built on the JDK's {@code com.sun.net.httpserver}.
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@code GET /books/{isbn}} – one book, or 404.</li>
+ *   <li>{@code GET /books?q=text&limit=n} – ranked title/author search;
+ *       without {@code q}, every book.</li>
+ *   <li>{@code POST /sales} with {@code {"isbn":"...","quantity":n}} – sells
+ *       through {@link InventoryManager#sell}; 201 with the sale, 404 for an
+ *       unknown ISBN, 409 when stock is short.</li>
+ *   <li>{@code GET /reports/revenue}, {@code /reports/top-sellers?n=20},
+ *       {@code /reports/low-stock?threshold=5} and
+ *       {@code /reports/sales?from=YYYY-MM-DD&to=YYYY-MM-DD&offset=0&limit=100}.
+ *       {@code n} and {@code limit} may not exceed {@value #MAX_LIMIT}; larger
+ *       sales ranges are fetched page by page with {@code offset}.</li>
+ *   <li>{@code GET /metrics} – the plain-text {@link Metrics#dump()}.</li>
+ * </ul>
+ *
+ * <p>Requests run on a fixed pool of worker threads, separate from the
+ * server's dispatcher thread. Requests waiting for a worker are held in a
+ * bounded queue; when it is full the request is answered at once with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header, on the
+ * dispatcher thread, and counted in {@link Metrics#HTTP_REJECTED}, so an
+ * overload sheds requests instead of piling them up in memory. Every response carries a {@code Content-Length},
+ * so HTTP/1.1 connections stay open between requests; the JDK's
+ * {@code sun.net.httpserver.idleInterval} and
+ * {@code sun.net.httpserver.maxIdleConnections} system properties tune how
+ * long and how many idle connections are kept.</p>
+ */
+public class BookstoreServer {
+    /** Port used by {@link #main} when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+    /** Largest request body accepted, in bytes. */
+    private static final int MAX_BODY = 64 * 1024;
+    /** Default result count for search and top-seller requests. */
+    private static final int DEFAULT_LIMIT = 20;
+    /** Seconds an overloaded client is asked to wait before retrying. */
+    private static final int RETRY_AFTER_SECONDS = 1;
+    /** Set while a request rejected by the worker pool runs on the dispatcher thread. */
+    private static final ThreadLocal<Boolean> OVERLOADED = new ThreadLocal<>();
+    /** Default page size of the sales report. */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    /** Largest {@code n} or {@code limit} a report accepts, which bounds every response. */
+    static final int MAX_LIMIT = 1000;
+    /** Default number of requests that may wait for a worker thread. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    /** Default threshold for the low-stock report. */
+    private static final int DEFAULT_THRESHOLD = 5;
+
+    private final InventoryManager inventory;
+    private final SalesManager sales;
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    /**
+     * Creates a server listening on all interfaces, with a queue of
+     * {@link #DEFAULT_QUEUE_CAPACITY} requests.
+     *
+     * @param inventory     the inventory to serve
+     * @param sales         the sales history that records sales
+     * @param port          the TCP port, or 0 for any free port
+     * @param workerThreads number of threads handling requests
+     * @throws IOException if the port cannot be bound
+     */
+    public BookstoreServer(InventoryManager inventory, SalesManager sales, int port, int workerThreads)
+            throws IOException {
+        this(inventory, sales, new InetSocketAddress(port), workerThreads, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a server bound to {@code address}, with a queue of
+     * {@link #DEFAULT_QUEUE_CAPACITY} requests.
+     *
+     * @param inventory     the inventory to serve
+     * @param sales         the sales history that records sales
+     * @param address       the address to bind
+     * @param workerThreads number of threads handling requests
+     * @throws IllegalArgumentException if {@code workerThreads} is not positive
+     * @throws IOException              if the address cannot be bound
+     */
+    public BookstoreServer(InventoryManager inventory, SalesManager sales, InetSocketAddress address,
+                           int workerThreads) throws IOException {
+        this(inventory, sales, address, workerThreads, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a server bound to {@code address}; call {@link #start()} to
+     * begin accepting requests.
+     *
+     * @param inventory     the inventory to serve
+     * @param sales         the sales history that records sales
+     * @param address       the address to bind
+     * @param workerThreads number of threads handling requests
+     * @param queueCapacity number of requests that may wait for a worker
+     *                      before further ones are answered with 503
+     * @throws IllegalArgumentException if {@code workerThreads} or {@code queueCapacity} is not positive
+     * @throws IOException              if the address cannot be bound
+     */
+    public BookstoreServer(InventoryManager inventory, SalesManager sales, InetSocketAddress address,
+                           int workerThreads, int queueCapacity) throws IOException {
+        if (workerThreads <= 0) {
+            throw new IllegalArgumentException("Worker threads must be positive: " + workerThreads);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.inventory = inventory;
+        this.sales = sales;
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerFactory(), BookstoreServer::overloaded);
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(workers);
+        server.createContext("/books", guarded(this::books));
+        server.createContext("/sales", guarded(this::sales));
+        server.createContext("/reports", guarded(this::reports));
+        server.createContext("/metrics", guarded(BookstoreServer::metrics));
+    }
+
+    /** Starts accepting requests. */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting connections, waits up to {@code delaySeconds} for
+     * in-flight exchanges and shuts the worker pool down.
+     *
+     * @param delaySeconds maximum time to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the bound port, useful when the server was created on port 0.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void books(HttpExchange ex) throws IOException {
+        if (!requireMethod(ex, "GET")) {
+            return;
+        }
+        String rest = ex.getRequestURI().getRawPath().substring("/books".length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            Map<String, String> params = query(ex);
+            String q = params.get("q");
+            List<Book> books = q == null
+                    ? inventory.listAllBooks()
+                    : inventory.searchBooks(q, intParam(params, "limit", DEFAULT_LIMIT));
+            send(ex, 200, books(new StringBuilder(), books));
+            return;
+        }
+        String isbn = URLDecoder.decode(rest.substring(1), StandardCharsets.UTF_8);
+        Book book = inventory.findBook(isbn);
+        if (book == null) {
+            send(ex, 404, error("No book found with ISBN " + isbn));
+        } else {
+            send(ex, 200, book(new StringBuilder(), book));
+        }
+    }
+
+    private void sales(HttpExchange ex) throws IOException {
+        if (!ex.getRequestURI().getRawPath().equals("/sales")) {
+            send(ex, 404, error("Not found"));
+            return;
+        }
+        if (!requireMethod(ex, "POST")) {
+            return;
+        }
+        byte[] body = ex.getRequestBody().readNBytes(MAX_BODY + 1);
+        if (body.length > MAX_BODY) {
+            send(ex, 413, error("Request body too large"));
+            return;
+        }
+        Map<String, String> fields = Json.parseObject(new String(body, StandardCharsets.UTF_8));
+        String isbn = fields.get("isbn");
+        String quantity = fields.get("quantity");
+        if (isbn == null || quantity == null) {
+            throw new IllegalArgumentException("Both isbn and quantity are required");
+        }
+        int copies = Integer.parseInt(quantity);
+        Sale sale;
+        try {
+            sale = inventory.sell(isbn, copies, sales);
+        } catch (IllegalArgumentException e) {
+            // Checked after the failed sale, not before it, so a concurrent
+            // removal is reported as 404 rather than as bad input.
+            if (inventory.findBook(isbn) == null) {
+                send(ex, 404, error("No book found with ISBN " + isbn));
+                return;
+            }
+            throw e;
+        }
+        send(ex, 201, sale(new StringBuilder(), sale));
+    }
+
+    private void reports(HttpExchange ex) throws IOException {
+        if (!requireMethod(ex, "GET")) {
+            return;
+        }
+        Map<String, String> params = query(ex);
+        StringBuilder sb = new StringBuilder();
+        switch (ex.getRequestURI().getRawPath()) {
+            case "/reports/revenue":
+                sb.append("{\"revenue\":").append(Money.format(sales.totalRevenueCents()))
+                        .append(",\"units\":").append(sales.totalUnits())
+                        .append(",\"sales\":").append(sales.snapshot().size()).append('}');
+                break;
+            case "/reports/top-sellers":
+                sb.append('[');
+                for (Map.Entry<String, Integer> e
+                        : sales.topSellingBooks(limitParam(params, "n", DEFAULT_LIMIT)).entrySet()) {
+                    if (sb.length() > 1) {
+                        sb.append(',');
+                    }
+                    Json.string(sb.append("{\"book\":"), e.getKey())
+                            .append(",\"units\":").append(e.getValue()).append('}');
+                }
+                sb.append(']');
+                break;
+            case "/reports/low-stock":
+                books(sb, inventory.findLowStock(intParam(params, "threshold", DEFAULT_THRESHOLD)));
+                break;
+            case "/reports/sales":
+                String from = params.get("from");
+                String to = params.get("to");
+                if (from == null || to == null) {
+                    throw new IllegalArgumentException("Both from and to are required");
+                }
+                int offset = intParam(params, "offset", 0);
+                if (offset < 0) {
+                    throw new IllegalArgumentException("Parameter offset must not be negative: " + offset);
+                }
+                int limit = limitParam(params, "limit", DEFAULT_PAGE_SIZE);
+                sb.append('[');
+                for (Sale sale : sales.salesByDateRange(LocalDate.parse(from), LocalDate.parse(to), offset, limit)) {
+                    if (sb.length() > 1) {
+                        sb.append(',');
+                    }
+                    sale(sb, sale);
+                }
+                sb.append(']');
+                break;
+            default:
+                send(ex, 404, error("Not found"));
+                return;
+        }
+        send(ex, 200, sb);
+    }
+
+    private static void metrics(HttpExchange ex) throws IOException {
+        if (!requireMethod(ex, "GET")) {
+            return;
+        }
+        byte[] body = Metrics.dump().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    /**
+     * Runs an exchange the worker pool rejected on the calling dispatcher
+     * thread, flagged so that {@link #guarded} only answers 503. The
+     * exchange must still run to be answered and closed; the flag keeps
+     * that to parsing the request line and writing a short error.
+     */
+    private static void overloaded(Runnable exchange, ThreadPoolExecutor pool) {
+        OVERLOADED.set(Boolean.TRUE);
+        try {
+            exchange.run();
+        } finally {
+            OVERLOADED.remove();
+        }
+    }
+
+    /**
+     * Wraps a route so that every exchange is answered and closed: an
+     * exchange rejected by a full worker queue becomes 503, bad input 400,
+     * a stock conflict 409 and anything else 500.
+     */
+    private static HttpHandler guarded(Route route) {
+        return ex -> {
+            try {
+                if (OVERLOADED.get() != null) {
+                    Metrics.HTTP_REJECTED.increment();
+                    ex.getResponseHeaders().set("Retry-After", Integer.toString(RETRY_AFTER_SECONDS));
+                    send(ex, 503, error("Server busy, retry later"));
+                    return;
+                }
+                route.handle(ex);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                send(ex, 400, error(e.getMessage()));
+            } catch (IllegalStateException e) {
+                send(ex, 409, error(e.getMessage()));
+            } catch (RuntimeException e) {
+                send(ex, 500, error("Internal error"));
+            } finally {
+                ex.close();
+            }
+        };
+    }
+
+    private static boolean requireMethod(HttpExchange ex, String method) throws IOException {
+        if (ex.getRequestMethod().equals(method)) {
+            return true;
+        }
+        ex.getResponseHeaders().set("Allow", method);
+        send(ex, 405, error("Method not allowed"));
+        return false;
+    }
+
+    private static void send(HttpExchange ex, int status, CharSequence json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be an integer: " + value);
+        }
+    }
+
+    /** Reads a result count, which must lie between 0 and {@link #MAX_LIMIT}. */
+    private static int limitParam(Map<String, String> params, String name, int defaultValue) {
+        int value = intParam(params, name, defaultValue);
+        if (value < 0 || value > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                    "Parameter " + name + " must be between 0 and " + MAX_LIMIT + ": " + value);
+        }
+        return value;
+    }
+
+    private static StringBuilder error(String message) {
+        return Json.string(new StringBuilder("{\"error\":"), message).append('}');
+    }
+
+    private static StringBuilder books(StringBuilder sb, Collection<Book> books) {
+        sb.append('[');
+        boolean first = true;
+        for (Book b : books) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            book(sb, b);
+        }
+        return sb.append(']');
+    }
+
+    private static StringBuilder book(StringBuilder sb, Book book) {
+        Json.string(sb.append("{\"isbn\":"), book.getIsbn());
+        Json.string(sb.append(",\"title\":"), book.getTitle());
+        Json.string(sb.append(",\"author\":"), book.getAuthor());
+        return sb.append(",\"price\":").append(Money.format(book.getPriceCents()))
+                .append(",\"quantity\":").append(book.getQuantity()).append('}');
+    }
+
+    private static StringBuilder sale(StringBuilder sb, Sale sale) {
+        Json.string(sb.append("{\"isbn\":"), sale.getBook().getIsbn());
+        Json.string(sb.append(",\"title\":"), sale.getBook().getTitle());
+        sb.append(",\"quantity\":").append(sale.getQuantity())
+                .append(",\"price\":").append(Money.format(sale.getPriceCents()))
+                .append(",\"amount\":").append(Money.format(sale.getAmountCents()));
+        return Json.string(sb.append(",\"timestamp\":"), sale.getTimestamp().toString()).append('}');
+    }
+
+    /**
+     * Starts a server over CSV files, saving them back on shutdown.
+     *
+     * <p>Arguments, all optional:
+     * {@code [port [workers [inventory.csv [sales.csv [queueCapacity]]]]]};
+     * missing files start empty.</p>
+     *
+     * @param args command-line arguments
+     * @throws IOException if the files cannot be read or the port bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 2;
+        String inventoryPath = args.length > 2 ? args[2] : "inventory.csv";
+        String salesPath = args.length > 3 ? args[3] : "sales.csv";
+        int queueCapacity = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_QUEUE_CAPACITY;
+
+        InventoryManager inv = Files.exists(Paths.get(inventoryPath))
+                ? new InventoryManager(inventoryPath) : new InventoryManager();
+        SalesManager sm = Files.exists(Paths.get(salesPath))
+                ? new SalesManager(salesPath, inv) : new SalesManager(inv);
+        Metrics.registerMBeans();
+        BookstoreServer server = new BookstoreServer(inv, sm, new InetSocketAddress(port), threads, queueCapacity);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(1);
+            try {
+                inv.saveInventory(inventoryPath);
+                sm.saveSales(salesPath);
+            } catch (IOException e) {
+                System.err.println("Failed to save data: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Listening on port " + server.getPort() + " with " + threads + " workers");
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange ex) throws IOException;
+    }
+
+    /** Names worker threads so they are recognisable in thread dumps. */
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger next = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, "bookstore-http-" + next.getAndIncrement());
+        }
+    }
+}
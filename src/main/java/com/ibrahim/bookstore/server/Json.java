@@ -0,0 +1,176 @@
+package com.ibrahim.bookstore.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP service: string escaping for responses
+ * and a parser for flat request objects.
+ *
+ * <p>Request bodies are single objects whose values are strings, numbers,
+ * booleans or {@code null}; nested objects and arrays are rejected. Values
+ * are returned as their text, numbers undecoded, so callers parse them with
+ * the same rules as the CSV files.</p>
+ */
+final class Json {
+    /** Prevent instantiation. */
+    private Json() { throw new AssertionError("Cannot instantiate Json"); }
+
+    /**
+     * Appends {@code value} as a quoted JSON string, or {@code null}.
+     *
+     * @param sb    the target
+     * @param value the string to encode
+     * @return {@code sb}
+     */
+    static StringBuilder string(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Parses a flat JSON object.
+     *
+     * @param text the JSON text
+     * @return field names mapped to their string or literal text; JSON
+     *         {@code null} maps to {@code null}
+     * @throws IllegalArgumentException if the text is not a flat JSON object
+     */
+    static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> fields = new HashMap<>();
+        p.skipWhitespace();
+        p.expect('{');
+        p.skipWhitespace();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipWhitespace();
+                String name = p.string();
+                p.skipWhitespace();
+                p.expect(':');
+                p.skipWhitespace();
+                fields.put(name, p.value());
+                p.skipWhitespace();
+                if (p.peek() == ',') {
+                    p.pos++;
+                } else {
+                    p.expect('}');
+                    break;
+                }
+            }
+        }
+        p.skipWhitespace();
+        if (p.pos != text.length()) {
+            throw new IllegalArgumentException("Unexpected content after JSON object");
+        }
+        return fields;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            return text.charAt(pos);
+        }
+
+        void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at offset " + pos);
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Missing value at offset " + start);
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char e = peek();
+                pos++;
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Unexpected end of JSON");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("Invalid escape at offset " + pos);
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid escape at offset " + (pos - 1));
+                }
+            }
+        }
+    }
+}
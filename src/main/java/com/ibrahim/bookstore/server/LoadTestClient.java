@@ -0,0 +1,179 @@
+package com.ibrahim.bookstore.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load generator for {@link BookstoreServer}.
+ *
+ * <p>Each client thread sends its requests back to back over a shared
+ * HTTP/1.1 {@link HttpClient}, which reuses keep-alive connections, and
+ * records the latency of every request. The result reports throughput and
+ * the 50th and 99th latency percentiles.</p>
+ *
+ * <pre>
+ * java -cp target/classes com.ibrahim.bookstore.server.LoadTestClient \
+ *     http://localhost:8080/books/A1 8 10000
+ * </pre>
+ */
+public final class LoadTestClient {
+    /** Prevent instantiation. */
+    private LoadTestClient() { throw new AssertionError("Cannot instantiate LoadTestClient"); }
+
+    /**
+     * Outcome of a load test.
+     */
+    public static final class Result {
+        private final long[] latencies;
+        private final long errors;
+        private final long elapsedNanos;
+
+        Result(long[] latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of requests sent.
+         *
+         * @return request count
+         */
+        public int getRequests() {
+            return latencies.length;
+        }
+
+        /**
+         * Returns the number of requests that failed or got a status of 400 or above.
+         *
+         * @return error count
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns completed requests per second of wall time.
+         *
+         * @return throughput
+         */
+        public double getRequestsPerSecond() {
+            return latencies.length / (Math.max(elapsedNanos, 1) / 1e9);
+        }
+
+        /**
+         * Returns a latency percentile using the nearest-rank method.
+         *
+         * @param percentile between 0 (exclusive) and 100 (inclusive)
+         * @return latency in nanoseconds, or 0 if no requests were sent
+         * @throws IllegalArgumentException if the percentile is out of range
+         */
+        public long percentileNanos(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+            }
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d errors, %.0f req/s, p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                    latencies.length, errors, getRequestsPerSecond(),
+                    percentileNanos(50) / 1e6, percentileNanos(99) / 1e6, percentileNanos(100) / 1e6);
+        }
+    }
+
+    /**
+     * Runs a load test.
+     *
+     * @param uri               the request target
+     * @param threads           number of concurrent clients
+     * @param requestsPerThread requests each client sends
+     * @param jsonBody          body to {@code POST}, or {@code null} to {@code GET}
+     * @return the measured result
+     * @throws IllegalArgumentException if {@code threads} or {@code requestsPerThread} is not positive
+     * @throws InterruptedException     if interrupted while waiting for the clients
+     */
+    public static Result run(URI uri, int threads, int requestsPerThread, String jsonBody)
+            throws InterruptedException {
+        if (threads <= 0 || requestsPerThread <= 0) {
+            throw new IllegalArgumentException("Threads and requests must be positive");
+        }
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        HttpRequest request = jsonBody == null
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(jsonBody)).build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> futures = new ArrayList<>(threads);
+        long[] errors = new long[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(pool.submit(() -> {
+                long[] latencies = new long[requestsPerThread];
+                for (int i = 0; i < requestsPerThread; i++) {
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors[id]++;
+                        }
+                    } catch (IOException e) {
+                        errors[id]++;
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[threads * requestsPerThread];
+        try {
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * requestsPerThread, requestsPerThread);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(all);
+        return new Result(all, Arrays.stream(errors).sum(), elapsed);
+    }
+
+    /**
+     * Command-line entry point:
+     * {@code <url> [threads] [requestsPerThread] [jsonBody]}.
+     *
+     * @param args command-line arguments
+     * @throws InterruptedException if interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTestClient <url> [threads] [requestsPerThread] [jsonBody]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        String body = args.length > 3 ? args[3] : null;
+        System.out.println(run(uri, threads, requests, body));
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Network front-end for the Bookstore Inventory Manager.
+ *
+ * <p>The {@code com.ibrahim.bookstore.server} package exposes the service
+ * layer over HTTP using only the JDK:</p>
+ * <ul>
+ *   <li>{@link com.ibrahim.bookstore.server.BookstoreServer} – embedded
+ *       {@code com.sun.net.httpserver} service with JSON endpoints for book
+ *       lookup and search, sales and reports, running on a tunable worker
+ *       pool with keep-alive connections.</li>
+ *   <li>{@link com.ibrahim.bookstore.server.LoadTestClient} – local
+ *       closed-loop load generator reporting requests per second and p50/p99
+ *       latency.</li>
+ * </ul>
+ */
+package com.ibrahim.bookstore.server;
@@ -0,0 +1,294 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book titles and authors.
+ *
+ * <p>Titles and authors are split into lower-case, accent-free tokens. Each
+ * token maps to the ISBNs containing it, with a bit per field. Tokens are
+ * kept sorted, so every query term is matched as a prefix by walking a
+ * contiguous range of the map rather than scanning all books. Terms shorter
+ * than {@value #MIN_PREFIX_LENGTH} characters only match whole words, so a
+ * one-letter term cannot walk a large share of the vocabulary. A book
+ * matches when every query term prefixes one of its tokens; its score adds
+ * up the best match per term, weighted title over author and whole word
+ * over prefix.</p>
+ *
+ * <p>A query walks the postings of its rarest term only. That term's
+ * matches become the candidate set, and each remaining term is checked
+ * against the few tokens of each candidate, so common words such as
+ * {@code "the"} cost nothing beyond the candidates they filter. Reads share
+ * a read lock; changes take the write lock.</p>
+ */
+class BookSearchIndex {
+    private static final int TITLE = 1;
+    private static final int AUTHOR = 2;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    /** Shortest term matched as a prefix; shorter terms must equal a whole token. */
+    static final int MIN_PREFIX_LENGTH = 3;
+
+    private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private final Map<String, Map<String, Integer>> fieldsByIsbn = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a book, replacing whatever was indexed for its ISBN before.
+     *
+     * @param book the book to index
+     */
+    void put(Book book) {
+        Map<String, Integer> fields = fields(book);
+        lock.writeLock().lock();
+        try {
+            index(book.getIsbn(), fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Tokens of a book with their field bits; computed outside the lock. */
+    private static Map<String, Integer> fields(Book book) {
+        Map<String, Integer> fields = new HashMap<>();
+        for (String t : tokenize(book.getTitle())) {
+            fields.merge(t, TITLE, (a, b) -> a | b);
+        }
+        for (String t : tokenize(book.getAuthor())) {
+            fields.merge(t, AUTHOR, (a, b) -> a | b);
+        }
+        return fields;
+    }
+
+    /** Replaces the postings of an ISBN; caller holds the write lock. */
+    private void index(String isbn, Map<String, Integer> fields) {
+        unindex(isbn);
+        fields.forEach((token, mask) -> postings.computeIfAbsent(token, k -> new HashMap<>()).put(isbn, mask));
+        fieldsByIsbn.put(isbn, fields);
+    }
+
+    /**
+     * Indexes many books under a single write lock.
+     *
+     * @param books the books to index; each replaces its ISBN's earlier entry
+     */
+    void putAll(Collection<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Map<String, Integer>> tokenized = new ArrayList<>(books.size());
+        for (Book b : books) {
+            tokenized.add(fields(b));
+        }
+        lock.writeLock().lock();
+        try {
+            int i = 0;
+            for (Book b : books) {
+                index(b.getIsbn(), tokenized.get(i++));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a book from the index.
+     *
+     * @param isbn the book's ISBN
+     */
+    void remove(String isbn) {
+        lock.writeLock().lock();
+        try {
+            unindex(isbn);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best-matching ISBNs for a free-text query.
+     *
+     * @param query words or word prefixes, e.g. {@code "tolk ring"}
+     * @param limit maximum number of results
+     * @return matching ISBNs, best first; ties by ISBN
+     */
+    List<String> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        Map<String, Integer> scores;
+        try {
+            String rarest = terms.get(0);
+            int rarestCount = Integer.MAX_VALUE;
+            for (String term : terms) {
+                int count = postingCount(term, rarestCount);
+                if (count < rarestCount) {
+                    rarest = term;
+                    rarestCount = count;
+                }
+            }
+            scores = scoreTerm(rarest);
+            boolean skipped = false;
+            for (String term : terms) {
+                if (scores.isEmpty()) {
+                    break;
+                }
+                if (!skipped && term.equals(rarest)) {
+                    skipped = true;
+                    continue;
+                }
+                filterTerm(term, scores);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(scores, limit);
+    }
+
+    /** The tokens a term matches: itself only if short, else every token it prefixes. */
+    private Map<String, Map<String, Integer>> matches(String term) {
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            Map<String, Integer> p = postings.get(term);
+            return p == null ? Collections.emptyMap() : Collections.singletonMap(term, p);
+        }
+        return postings.subMap(term, true, term + Character.MAX_VALUE, false);
+    }
+
+    /** Number of postings a term matches, counted no further than {@code cap}. */
+    private int postingCount(String term, int cap) {
+        int count = 0;
+        for (Map<String, Integer> p : matches(term).values()) {
+            count += p.size();
+            if (count >= cap) {
+                return cap;
+            }
+        }
+        return count;
+    }
+
+    /** Scores every ISBN matching one term; this seeds the candidate set. */
+    private Map<String, Integer> scoreTerm(String term) {
+        Map<String, Integer> best = new HashMap<>();
+        for (Map.Entry<String, Map<String, Integer>> e : matches(term).entrySet()) {
+            boolean exact = e.getKey().equals(term);
+            for (Map.Entry<String, Integer> p : e.getValue().entrySet()) {
+                best.merge(p.getKey(), weight(p.getValue(), exact), Math::max);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Drops the candidates that do not match a term and adds the term's
+     * score to the others, looking only at each candidate's own tokens.
+     */
+    private void filterTerm(String term, Map<String, Integer> scores) {
+        boolean prefix = term.length() >= MIN_PREFIX_LENGTH;
+        Iterator<Map.Entry<String, Integer>> it = scores.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> candidate = it.next();
+            int best = 0;
+            for (Map.Entry<String, Integer> t : fieldsByIsbn.get(candidate.getKey()).entrySet()) {
+                String token = t.getKey();
+                boolean exact = token.equals(term);
+                if (exact || (prefix && token.startsWith(term))) {
+                    best = Math.max(best, weight(t.getValue(), exact));
+                }
+            }
+            if (best == 0) {
+                it.remove();
+            } else {
+                candidate.setValue(candidate.getValue() + best);
+            }
+        }
+    }
+
+    private static int weight(int fields, boolean exact) {
+        int w = 0;
+        if ((fields & TITLE) != 0) {
+            w = exact ? 4 : 2;
+        }
+        if ((fields & AUTHOR) != 0) {
+            w = Math.max(w, exact ? 3 : 1);
+        }
+        return w;
+    }
+
+    private static List<String> top(Map<String, Integer> scores, int limit) {
+        Comparator<Map.Entry<String, Integer>> weakestFirst = Comparator
+                .comparing((Map.Entry<String, Integer> e) -> e.getValue())
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(weakestFirst);
+        for (Map.Entry<String, Integer> e : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(e);
+            } else if (weakestFirst.compare(e, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(e);
+            }
+        }
+        String[] ranked = new String[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().getKey();
+        }
+        return List.of(ranked);
+    }
+
+    /** Removes the postings of an ISBN; caller holds the write lock. */
+    private void unindex(String isbn) {
+        Map<String, Integer> old = fieldsByIsbn.remove(isbn);
+        if (old == null) {
+            return;
+        }
+        for (String token : old.keySet()) {
+            Map<String, Integer> p = postings.get(token);
+            p.remove(isbn);
+            if (p.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-case tokens of letters and digits, with accents removed.
+     *
+     * @param text the text, may be {@code null}
+     * @return the tokens in order
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
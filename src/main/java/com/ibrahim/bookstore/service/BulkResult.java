@@ -0,0 +1,92 @@
+package com.ibrahim.bookstore.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-item outcome of a bulk operation such as
+ * {@link InventoryManager#addBooks} or {@link SalesManager#recordSales}.
+ *
+ * <p>Outcomes are listed in the order the items were given, so
+ * {@code getStatus(i)} describes the i-th input.</p>
+ */
+public class BulkResult {
+
+    /** What happened to one item of a batch. */
+    public enum Status {
+        /** A new book was added. */
+        ADDED,
+        /** An existing book was overwritten. */
+        UPDATED,
+        /** A sale was appended to the history. */
+        RECORDED,
+        /** Skipped: its ISBN already exists, in the inventory or earlier in the batch. */
+        DUPLICATE,
+        /** Skipped: the item is incomplete or its quantity is invalid. */
+        INVALID
+    }
+
+    private final List<Status> statuses;
+    private final Map<Status, Integer> counts = new EnumMap<>(Status.class);
+
+    BulkResult(List<Status> statuses) {
+        this.statuses = Collections.unmodifiableList(new ArrayList<>(statuses));
+        for (Status s : statuses) {
+            counts.merge(s, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Returns the number of items in the batch.
+     *
+     * @return the batch size
+     */
+    public int size() {
+        return statuses.size();
+    }
+
+    /**
+     * Returns the outcome of one item.
+     *
+     * @param index position of the item in the batch
+     * @return its status
+     * @throws IndexOutOfBoundsException if {@code index} is outside the batch
+     */
+    public Status getStatus(int index) {
+        return statuses.get(index);
+    }
+
+    /**
+     * Returns every outcome, in input order.
+     *
+     * @return an unmodifiable list of statuses
+     */
+    public List<Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Returns how many items ended with a status.
+     *
+     * @param status the status to count
+     * @return the number of items with that status
+     */
+    public int count(Status status) {
+        return counts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Returns a one-line summary such as {@code "ADDED=98, DUPLICATE=2"}.
+     *
+     * @return the non-zero counts, in status order
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((s, n) -> sb.append(sb.length() == 0 ? "" : ", ").append(s).append('=').append(n));
+        return sb.toString();
+    }
+}
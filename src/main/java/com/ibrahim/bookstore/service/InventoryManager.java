@@ -1,23 +1,60 @@
 package com.ibrahim.bookstore.service;
 
+import com.ibrahim.bookstore.metrics.Metrics;
 import com.ibrahim.bookstore.model.Book;
 import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.util.BinarySnapshot;
 import com.ibrahim.bookstore.util.CSVUtil;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Manages the bookstore inventory: in-memory operations plus load/save.
+ *
+ * <p>All methods are thread-safe. Lookups go through a concurrent ISBN index
+ * and never block; changes to a single book (update, sale) are serialized by
+ * a lock stripe chosen from the ISBN, so operations on unrelated titles run in
+ * parallel. Adding and removing books, listing and saving additionally hold a
+ * structural lock that keeps the ordered {@link Inventory} consistent.</p>
+ *
+ * <p>Secondary indexes keep books ordered by quantity for low-stock
+ * queries and map title and author words to books for
+ * {@link #searchBooks}, and {@link LowStockListener}s hear when a title
+ * drops below its reorder threshold. Both rely on stock being changed
+ * through this manager ({@link #updateBook}, {@link #sell}) rather than on
+ * books directly.</p>
  */
 public class InventoryManager {
+    /** Number of lock stripes; must be a power of two. */
+    private static final int STRIPES = 64;
+
     private final Inventory inventory;
+    private final Map<String, Book> index;
+    private final Lock[] stripes;
+    private final Object structureLock = new Object();
+    private final StockLevelIndex stockLevels = new StockLevelIndex();
+    private final BookSearchIndex searchIndex = new BookSearchIndex();
+    private final Map<String, Integer> reorderThresholds = new ConcurrentHashMap<>();
+    private final List<LowStockListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile int defaultReorderThreshold;
 
     /**
      * Constructs a new empty manager.
      */
     public InventoryManager() {
-        this.inventory = new Inventory();
+        this(new Inventory());
     }
 
     /**
@@ -27,7 +64,27 @@ public class InventoryManager {
      * @throws IOException if the file can't be read
      */
     public InventoryManager(String csvPath) throws IOException {
-        this.inventory = CSVUtil.readInventoryFromCsv(csvPath);
+        this(CSVUtil.readInventoryFromCsv(csvPath));
+    }
+
+    /**
+     * Constructs a manager over an already loaded inventory, for example one
+     * read with {@link CSVUtil#readInventoryFromCsvParallel(String)}.
+     *
+     * @param inventory the {@link Inventory} to manage; the manager takes ownership of it
+     */
+    public InventoryManager(Inventory inventory) {
+        this.inventory = inventory;
+        this.index = new ConcurrentHashMap<>();
+        for (Book b : inventory.getBooks()) {
+            index.put(b.getIsbn(), b);
+            stockLevels.put(b.getIsbn(), b.getQuantity());
+            searchIndex.put(b);
+        }
+        this.stripes = new Lock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -36,16 +93,30 @@ public class InventoryManager {
      * @return a {@link List} of {@link Book} instances in inventory
      */
     public List<Book> listAllBooks() {
-        return inventory.getBooks();
+        synchronized (structureLock) {
+            return inventory.getBooks();
+        }
     }
 
     /**
      * Adds a new book.
      *
      * @param book the {@link Book} to add
+     * @throws IllegalArgumentException if a book with the same ISBN already exists
      */
     public void addBook(Book book) {
-        inventory.addBook(book);
+        Lock lock = stripeFor(book.getIsbn());
+        lock.lock();
+        try {
+            synchronized (structureLock) {
+                inventory.addBook(book);
+                index.put(book.getIsbn(), book);
+                stockLevels.put(book.getIsbn(), book.getQuantity());
+                searchIndex.put(book);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -55,7 +126,18 @@ public class InventoryManager {
      * @return {@code true} if removed, {@code false} otherwise
      */
     public boolean removeBook(String isbn) {
-        return inventory.removeBookByIsbn(isbn);
+        Lock lock = stripeFor(isbn);
+        lock.lock();
+        try {
+            synchronized (structureLock) {
+                index.remove(isbn);
+                stockLevels.remove(isbn);
+                searchIndex.remove(isbn);
+                return inventory.removeBookByIsbn(isbn);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -65,7 +147,115 @@ public class InventoryManager {
      * @return {@code true} if updated, {@code false} otherwise
      */
     public boolean updateBook(Book book) {
-        return inventory.updateBook(book);
+        Lock lock = stripeFor(book.getIsbn());
+        Book existing;
+        int previous;
+        lock.lock();
+        try {
+            existing = index.get(book.getIsbn());
+            if (existing == null) {
+                return false;
+            }
+            previous = existing.getQuantity();
+            if (apply(existing, book)) {
+                searchIndex.put(existing);
+            }
+        } finally {
+            lock.unlock();
+        }
+        checkReorder(existing, previous, book.getQuantity());
+        return true;
+    }
+
+    /**
+     * Adds many books in one step, skipping those whose ISBN is already taken.
+     *
+     * <p>All lock stripes and the structural lock are taken once for the
+     * whole batch, and the search index is updated in a single write, so a
+     * large supplier feed costs far less than the same number of
+     * {@link #addBook} calls. Other operations wait while the batch runs.</p>
+     *
+     * @param books the books to add, in order
+     * @return one {@link BulkResult.Status#ADDED}, {@code DUPLICATE} or
+     *         {@code INVALID} (missing ISBN or negative quantity) per book
+     */
+    public BulkResult addBooks(Collection<Book> books) {
+        return bulk(books, false);
+    }
+
+    /**
+     * Adds or overwrites many books in one step.
+     *
+     * <p>Books with a new ISBN are added; the others update the existing
+     * book exactly like {@link #updateBook}, and reorder listeners are
+     * notified once the batch has released its locks. Locking and index
+     * maintenance are batched as in {@link #addBooks}.</p>
+     *
+     * @param books the books to add or update, in order
+     * @return one {@link BulkResult.Status#ADDED}, {@code UPDATED} or
+     *         {@code INVALID} per book
+     */
+    public BulkResult upsertBooks(Collection<Book> books) {
+        return bulk(books, true);
+    }
+
+    private BulkResult bulk(Collection<Book> books, boolean upsert) {
+        List<BulkResult.Status> statuses = new ArrayList<>(books.size());
+        List<Book> reindex = new ArrayList<>();
+        List<StockChange> changes = new ArrayList<>();
+        lockAllStripes();
+        try {
+            synchronized (structureLock) {
+                for (Book book : books) {
+                    if (book == null || book.getIsbn() == null || book.getIsbn().isEmpty()
+                            || book.getQuantity() < 0) {
+                        statuses.add(BulkResult.Status.INVALID);
+                        continue;
+                    }
+                    Book existing = index.get(book.getIsbn());
+                    if (existing == null) {
+                        inventory.addBook(book);
+                        index.put(book.getIsbn(), book);
+                        stockLevels.put(book.getIsbn(), book.getQuantity());
+                        reindex.add(book);
+                        statuses.add(BulkResult.Status.ADDED);
+                    } else if (upsert) {
+                        int previous = existing.getQuantity();
+                        if (apply(existing, book)) {
+                            reindex.add(existing);
+                        }
+                        changes.add(new StockChange(existing, previous, book.getQuantity()));
+                        statuses.add(BulkResult.Status.UPDATED);
+                    } else {
+                        statuses.add(BulkResult.Status.DUPLICATE);
+                    }
+                }
+                searchIndex.putAll(reindex);
+            }
+        } finally {
+            unlockAllStripes();
+        }
+        for (StockChange c : changes) {
+            checkReorder(c.book, c.previous, c.current);
+        }
+        return new BulkResult(statuses);
+    }
+
+    /**
+     * Copies the fields of {@code book} onto {@code existing} and refreshes its
+     * stock entry; caller holds the book's stripe.
+     *
+     * @return {@code true} if title or author changed and the book must be reindexed
+     */
+    private boolean apply(Book existing, Book book) {
+        boolean retitled = !Objects.equals(existing.getTitle(), book.getTitle())
+                || !Objects.equals(existing.getAuthor(), book.getAuthor());
+        existing.setTitle(book.getTitle());
+        existing.setAuthor(book.getAuthor());
+        existing.setPriceCents(book.getPriceCents());
+        existing.setQuantity(book.getQuantity());
+        stockLevels.put(existing.getIsbn(), book.getQuantity());
+        return retitled;
     }
 
     /**
@@ -75,7 +265,190 @@ public class InventoryManager {
      * @return the {@link Book} or {@code null} if not found
      */
     public Book findBook(String isbn) {
-        return inventory.findByIsbn(isbn);
+        long start = Metrics.start();
+        Book book = index.get(isbn);
+        Metrics.FIND_BOOK.stop(start);
+        return book;
+    }
+
+    /**
+     * Sells copies of a book as one atomic step: checks stock, records the
+     * {@link Sale} and decrements stock while holding the book’s lock stripe,
+     * so concurrent sales of the same ISBN can never oversell. Sales of
+     * different titles take different stripes, but still meet briefly at
+     * the history append, which {@link SalesManager} serializes.
+     *
+     * <p>The sale is queued on the sales journal before stock changes, so a
+     * journal that cannot take it leaves stock and history untouched. With
+     * a journal open, the call then releases the stripe and waits for the
+     * sale to be synced; an {@link UncheckedIOException} from that wait means
+     * the sale is recorded in memory but may not survive a crash.</p>
+     *
+     * @param isbn         the ISBN of the book to sell
+     * @param quantity     number of copies sold (must be positive)
+     * @param salesManager the {@link SalesManager} that records the sale
+     * @return the recorded {@link Sale}
+     * @throws IllegalArgumentException if the quantity is not positive or no book has the ISBN
+     * @throws IllegalStateException    if fewer than {@code quantity} copies are in stock
+     * @throws UncheckedIOException     if the sales journal cannot take or sync the sale
+     */
+    public Sale sell(String isbn, int quantity, SalesManager salesManager) {
+        return sell(isbn, quantity, salesManager, null);
+    }
+
+    /**
+     * Sells copies of a book at a given time, for example when replaying a
+     * till export; otherwise identical to {@link #sell(String, int, SalesManager)}.
+     *
+     * @param isbn         the ISBN of the book to sell
+     * @param quantity     number of copies sold (must be positive)
+     * @param salesManager the {@link SalesManager} that records the sale
+     * @param timestamp    when the sale happened, or {@code null} for now
+     * @return the recorded {@link Sale}
+     * @throws IllegalArgumentException if the quantity is not positive or no book has the ISBN
+     * @throws IllegalStateException    if fewer than {@code quantity} copies are in stock
+     * @throws UncheckedIOException     if the sales journal cannot take or sync the sale
+     */
+    public Sale sell(String isbn, int quantity, SalesManager salesManager, LocalDateTime timestamp) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+        Lock lock = stripeFor(isbn);
+        int available;
+        SalesManager.PendingSale pending;
+        lock.lock();
+        try {
+            Book book = index.get(isbn);
+            if (book == null) {
+                throw new IllegalArgumentException("No book found with ISBN " + isbn);
+            }
+            available = book.getQuantity();
+            if (quantity > available) {
+                throw new IllegalStateException("Not enough stock. Available: " + available);
+            }
+            pending = salesManager.queue(book, quantity,
+                    timestamp == null ? LocalDateTime.now() : timestamp);
+            book.setQuantity(available - quantity);
+            stockLevels.put(isbn, available - quantity);
+        } finally {
+            lock.unlock();
+        }
+        checkReorder(pending.getSale().getBook(), available, available - quantity);
+        return pending.awaitDurable();
+    }
+
+    /**
+     * Searches titles and authors for books matching every word of a query.
+     *
+     * <p>Each query word of three or more characters may be a prefix:
+     * {@code "tolk hob"} finds <i>The Hobbit</i> by Tolkien; shorter words
+     * must match a whole word. Matching ignores case and accents. Results
+     * are ranked by relevance, title matches over author matches and whole
+     * words over prefixes, using an inverted index kept up to date by
+     * {@link #addBook}, {@link #updateBook} and {@link #removeBook}.</p>
+     *
+     * @param query free-text query
+     * @param limit maximum number of results
+     * @return matching books, best first
+     */
+    public List<Book> searchBooks(String query, int limit) {
+        List<Book> result = new ArrayList<>();
+        for (String isbn : searchIndex.search(query, limit)) {
+            Book b = index.get(isbn);
+            if (b != null) {
+                result.add(b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the books whose quantity is below a threshold, read from the
+     * quantity-ordered index in O(log n + k) for k results.
+     *
+     * <p>The query does not block sales and is weakly consistent: each book
+     * appears at most once, but a book whose stock changes while the query
+     * runs may be reported by its old or new quantity, or missed.</p>
+     *
+     * @param threshold exclusive upper bound on quantity
+     * @return matching books, lowest quantity first, ties by ISBN
+     */
+    public List<Book> findLowStock(int threshold) {
+        List<Book> result = new ArrayList<>();
+        for (String isbn : stockLevels.below(threshold)) {
+            Book b = index.get(isbn);
+            if (b != null) {
+                result.add(b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Registers a listener for reorder-threshold crossings.
+     *
+     * @param listener the listener to add
+     */
+    public void addLowStockListener(LowStockListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     * @return {@code true} if it was registered
+     */
+    public boolean removeLowStockListener(LowStockListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Sets the reorder threshold used for titles without their own; 0, the
+     * initial value, disables alerts for them.
+     *
+     * @param threshold stock level below which listeners are notified
+     */
+    public void setDefaultReorderThreshold(int threshold) {
+        this.defaultReorderThreshold = threshold;
+    }
+
+    /**
+     * Sets or clears the reorder threshold of one title.
+     *
+     * @param isbn      the title's ISBN
+     * @param threshold stock level below which listeners are notified, or
+     *                  {@code null} to fall back to the default threshold
+     */
+    public void setReorderThreshold(String isbn, Integer threshold) {
+        if (threshold == null) {
+            reorderThresholds.remove(isbn);
+        } else {
+            reorderThresholds.put(isbn, threshold);
+        }
+    }
+
+    /**
+     * Returns the reorder threshold in effect for a title.
+     *
+     * @param isbn the title's ISBN
+     * @return its own threshold, or the default one
+     */
+    public int getReorderThreshold(String isbn) {
+        return reorderThresholds.getOrDefault(isbn, defaultReorderThreshold);
+    }
+
+    /** Notifies listeners if a stock change crossed the book's threshold. */
+    private void checkReorder(Book book, int previous, int current) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        int threshold = getReorderThreshold(book.getIsbn());
+        if (previous >= threshold && current < threshold) {
+            for (LowStockListener l : listeners) {
+                l.lowStock(book, current, threshold);
+            }
+        }
     }
 
     /**
@@ -85,6 +458,64 @@ public class InventoryManager {
      * @throws IOException if writing fails
      */
     public void saveInventory(String csvPath) throws IOException {
-        CSVUtil.writeInventoryToCsv(inventory, csvPath);
+        synchronized (structureLock) {
+            CSVUtil.writeInventoryToCsv(inventory, csvPath);
+        }
+    }
+
+    /**
+     * Saves the current inventory as a binary snapshot, which loads much
+     * faster than CSV.
+     *
+     * @param snapshotPath file to write to
+     * @throws IOException if writing fails
+     * @see #fromSnapshot(String)
+     */
+    public void saveSnapshot(String snapshotPath) throws IOException {
+        synchronized (structureLock) {
+            BinarySnapshot.writeInventory(inventory, snapshotPath);
+        }
+    }
+
+    /**
+     * Creates a manager from a binary snapshot written by {@link #saveSnapshot}.
+     *
+     * @param snapshotPath path to the snapshot file
+     * @return a manager over the loaded inventory
+     * @throws IOException if the file cannot be read or is not an inventory snapshot
+     */
+    public static InventoryManager fromSnapshot(String snapshotPath) throws IOException {
+        return new InventoryManager(BinarySnapshot.readInventory(snapshotPath));
+    }
+
+    /** Takes every stripe in index order, the order all batch operations use. */
+    private void lockAllStripes() {
+        for (Lock l : stripes) {
+            l.lock();
+        }
+    }
+
+    private void unlockAllStripes() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private Lock stripeFor(String isbn) {
+        int h = isbn.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /** A stock change made inside a batch, checked against thresholds after unlocking. */
+    private static final class StockChange {
+        private final Book book;
+        private final int previous;
+        private final int current;
+
+        private StockChange(Book book, int previous, int current) {
+            this.book = book;
+            this.previous = previous;
+            this.current = current;
+        }
     }
-}
\ No newline at end of file
+}
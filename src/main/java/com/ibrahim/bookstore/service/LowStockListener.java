@@ -0,0 +1,25 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+
+/**
+ * Receives a notice when a book's stock falls below its reorder threshold.
+ *
+ * <p>{@link InventoryManager} calls {@link #lowStock} once per crossing: when
+ * a sale or update takes the quantity from at or above the threshold to
+ * below it. Further drops while already below stay silent until the stock
+ * is refilled. Calls happen on the thread that changed the stock, after the
+ * book's lock is released; listeners should return quickly.</p>
+ */
+@FunctionalInterface
+public interface LowStockListener {
+
+    /**
+     * Called when a book's stock has dropped below its threshold.
+     *
+     * @param book      the book concerned
+     * @param quantity  its quantity right after the change
+     * @param threshold the threshold that was crossed
+     */
+    void lowStock(Book book, int quantity, int threshold);
+}
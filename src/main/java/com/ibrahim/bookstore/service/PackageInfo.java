@@ -11,13 +11,34 @@
  * <ul>
  *   <li>{@link com.ibrahim.bookstore.service.InventoryManager} – wraps the
  *       Inventory model to provide add/update/remove/find operations and
- *       CSV persistence.</li>
+ *       CSV persistence, with a quantity-ordered low-stock index.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.LowStockListener} – callback
+ *       fired when a title's stock drops below its reorder threshold.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.BulkResult} – per-item outcome
+ *       of the batch operations {@code addBooks}, {@code upsertBooks} and
+ *       {@code recordSales}.</li>
  *   <li>{@link com.ibrahim.bookstore.service.SalesManager} – manages a history
  *       of {@link com.ibrahim.bookstore.model.Sale} records, including recording
  *       new sales and saving/loading from CSV.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.SalesSnapshot} – copy-free,
+ *       read-only view of the sales history for reports and exports.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.SalesTotals} – single-pass
+ *       revenue and per-ISBN unit accumulator, usable over streamed sales.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.SpaceSavingTopSellers} – fixed-memory
+ *       approximate best-seller tracker for unbounded sales streams.</li>
+ *   <li>{@link com.ibrahim.bookstore.service.SalesJournal} – append-only
+ *       write-ahead journal of sales with group-commit fsyncs, replayed on
+ *       startup after the last CSV snapshot.</li>
  *   <li>{@link com.ibrahim.bookstore.service.ReportGenerator} – produces
  *       formatted console reports such as total revenue, top-selling titles,
- *       low-stock alerts, and date-filtered sales.</li>
+ *       low-stock alerts, and date-filtered sales, plus a single-pass
+ *       dashboard built from pluggable
+ *       {@link com.ibrahim.bookstore.service.SalesAggregator}s (built-ins in
+ *       {@link com.ibrahim.bookstore.service.SalesAggregators}).</li>
+ *   <li>{@link com.ibrahim.bookstore.service.ReportSink} – buffered
+ *       destination for tabular report rows, with console, CSV, JSON Lines,
+ *       fixed-width and paging sinks in
+ *       {@link com.ibrahim.bookstore.service.ReportSinks}.</li>
  * </ul>
  *
  * <p>All methods throw well-documented exceptions on invalid input or I/O failures,
@@ -0,0 +1,87 @@
+package com.ibrahim.bookstore.service;
+
+/**
+ * One column of a tabular report.
+ *
+ * <p>The key names the field in machine-readable sinks (the CSV header and
+ * JSON Lines keys); the label, width and alignment lay out fixed-width text
+ * the way the console reports always have.</p>
+ */
+public final class ReportColumn {
+    private final String key;
+    private final String label;
+    private final int width;
+    private final boolean rightAligned;
+
+    private ReportColumn(String key, String label, int width, boolean rightAligned) {
+        if (width < 0) {
+            throw new IllegalArgumentException("Width must not be negative: " + width);
+        }
+        this.key = key;
+        this.label = label;
+        this.width = width;
+        this.rightAligned = rightAligned;
+    }
+
+    /**
+     * Creates a left-aligned column, like {@code %-15s}.
+     *
+     * @param key   field name for CSV and JSON
+     * @param label heading for fixed-width text
+     * @param width minimum fixed-width column width
+     * @return the column
+     * @throws IllegalArgumentException if the width is negative
+     */
+    public static ReportColumn left(String key, String label, int width) {
+        return new ReportColumn(key, label, width, false);
+    }
+
+    /**
+     * Creates a right-aligned column, like {@code %10d}.
+     *
+     * @param key   field name for CSV and JSON
+     * @param label heading for fixed-width text
+     * @param width minimum fixed-width column width
+     * @return the column
+     * @throws IllegalArgumentException if the width is negative
+     */
+    public static ReportColumn right(String key, String label, int width) {
+        return new ReportColumn(key, label, width, true);
+    }
+
+    /**
+     * Returns the field name used by CSV and JSON sinks.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the fixed-width heading.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the minimum fixed-width column width; longer values overflow.
+     *
+     * @return the width in characters
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns whether fixed-width values are padded on the left.
+     *
+     * @return {@code true} for right alignment
+     */
+    public boolean isRightAligned() {
+        return rightAligned;
+    }
+}
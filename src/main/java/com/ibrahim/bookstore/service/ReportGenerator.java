@@ -1,13 +1,18 @@
 package com.ibrahim.bookstore.service;
 
+import com.ibrahim.bookstore.metrics.Metrics;
+import com.ibrahim.bookstore.metrics.ReportEvent;
 import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Money;
 import com.ibrahim.bookstore.model.Sale;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Generates console reports based on inventory and sales data.
@@ -18,9 +23,31 @@ import java.util.stream.Collectors;
  *   <li>Top-selling books by quantity</li>
  *   <li>Books low in stock below a given threshold</li>
  *   <li>Sales within a specific date range</li>
+ *   <li>A dashboard of several metrics computed in a single pass</li>
  * </ul>
+ *
+ * <p>The tabular reports also have {@code write...} variants that stream
+ * their rows to a {@link ReportSink}, such as a CSV or JSON Lines file from
+ * {@link ReportSinks}, optionally one page at a time; the {@code print...}
+ * methods are those reports written to {@link ReportSinks#console()}. The
+ * dashboard is free-form text, so {@link #writeDashboard} takes any
+ * {@link Writer} instead, and the console variant shares the console
+ * sink's buffering.</p>
  */
 public class ReportGenerator {
+    private static final List<ReportColumn> TOP_SELLING_COLUMNS = List.of(
+            ReportColumn.left("book", "Book (ISBN - Title)", 30),
+            ReportColumn.right("units", "Units Sold", 10));
+    private static final List<ReportColumn> LOW_STOCK_COLUMNS = List.of(
+            ReportColumn.left("isbn", "ISBN", 15),
+            ReportColumn.left("title", "Title", 25),
+            ReportColumn.right("quantity", "Quantity", 10));
+    private static final List<ReportColumn> SALES_COLUMNS = List.of(
+            ReportColumn.left("isbn", "ISBN", 15),
+            ReportColumn.left("title", "Title", 25),
+            ReportColumn.right("quantity", "Quantity", 10),
+            ReportColumn.right("timestamp", "Timestamp", 20));
+
     private final InventoryManager inventoryManager;
     private final SalesManager salesManager;
 
@@ -38,14 +65,16 @@ public class ReportGenerator {
     /**
      * Prints the total revenue from all recorded sales.
      *
-     * <p>Revenue is computed as sum of (price × quantity) per sale.</p>
+     * <p>Revenue is the sum of (price × quantity) per sale, read from the
+     * running total kept by {@link SalesManager}.</p>
      */
     public void printTotalSales() {
-        List<Sale> sales = salesManager.listAllSales();
-        double total = sales.stream()
-                .mapToDouble(s -> s.getBook().getPrice() * s.getQuantity())
-                .sum();
-        System.out.printf("Total Revenue: €%.2f%n", total);
+        long startNanos = Metrics.start();
+        ReportEvent event = ReportEvent.start("totalSales");
+        System.out.printf("Total Revenue: €%s%n", Money.format(salesManager.totalRevenueCents()));
+        // Answered from the running totals: no sale is read.
+        event.finish(0);
+        Metrics.REPORT_TOTAL_SALES.stop(startNanos);
     }
 
     /**
@@ -54,35 +83,66 @@ public class ReportGenerator {
      * @param topN the number of top titles to display
      */
     public void printTopSellingBooks(int topN) {
-        Map<String, Integer> counts = salesManager.listAllSales().stream()
-                .collect(Collectors.groupingBy(
-                        s -> s.getBook().getIsbn() + " - " + s.getBook().getTitle(),
-                        Collectors.summingInt(Sale::getQuantity)
-                ));
-
-        System.out.println("\nTop " + topN + " Selling Books:");
-        System.out.printf("%-30s %10s%n", "Book (ISBN - Title)", "Units Sold");
-        counts.entrySet().stream()
-                .sorted(Map.Entry.<String,Integer>comparingByValue(Comparator.reverseOrder()))
-                .limit(topN)
-                .forEach(e -> System.out.printf("%-30s %10d%n", e.getKey(), e.getValue()));
+        toConsole(sink -> writeTopSellingBooks(topN, sink));
+    }
+
+    /**
+     * Writes the top N selling books by total units sold to a sink.
+     *
+     * @param topN the number of top titles to include
+     * @param sink where the rows go
+     * @throws IOException if the sink fails
+     */
+    public void writeTopSellingBooks(int topN, ReportSink sink) throws IOException {
+        long startNanos = Metrics.start();
+        ReportEvent event = ReportEvent.start("topSelling");
+        Map<String, Integer> top = salesManager.topSellingBooks(topN);
+
+        sink.begin("Top " + topN + " Selling Books:", TOP_SELLING_COLUMNS);
+        for (Map.Entry<String, Integer> e : top.entrySet()) {
+            if (sink.isFull()) {
+                break;
+            }
+            sink.text(e.getKey()).integer(e.getValue()).endRow();
+        }
+        sink.end();
+        event.finish(top.size());
+        Metrics.REPORT_TOP_SELLING.stop(startNanos);
     }
 
     /**
-     * Prints all books whose stock quantity is below the given threshold.
+     * Prints all books whose stock quantity is below the given threshold,
+     * lowest stock first, using the inventory's quantity index.
      *
      * @param threshold the maximum stock level to flag as low
      */
     public void printLowStock(int threshold) {
-        List<Book> books = inventoryManager.listAllBooks().stream()
-                .filter(b -> b.getQuantity() < threshold)
-                .collect(Collectors.toList());
+        toConsole(sink -> writeLowStock(threshold, sink));
+    }
+
+    /**
+     * Writes all books whose stock quantity is below the given threshold,
+     * lowest stock first, to a sink.
+     *
+     * @param threshold the maximum stock level to flag as low
+     * @param sink      where the rows go
+     * @throws IOException if the sink fails
+     */
+    public void writeLowStock(int threshold, ReportSink sink) throws IOException {
+        long startNanos = Metrics.start();
+        ReportEvent event = ReportEvent.start("lowStock");
+        List<Book> books = inventoryManager.findLowStock(threshold);
 
-        System.out.println("\nLow Stock Books (below " + threshold + "): ");
-        System.out.printf("%-15s %-25s %10s%n", "ISBN", "Title", "Quantity");
+        sink.begin("Low Stock Books (below " + threshold + "): ", LOW_STOCK_COLUMNS);
         for (Book b : books) {
-            System.out.printf("%-15s %-25s %10d%n", b.getIsbn(), b.getTitle(), b.getQuantity());
+            if (sink.isFull()) {
+                break;
+            }
+            sink.text(b.getIsbn()).text(b.getTitle()).integer(b.getQuantity()).endRow();
         }
+        sink.end();
+        event.finish(books.size());
+        Metrics.REPORT_LOW_STOCK.stop(startNanos);
     }
 
     /**
@@ -92,22 +152,109 @@ public class ReportGenerator {
      * @param end   inclusive end date
      */
     public void printSalesByDateRange(LocalDate start, LocalDate end) {
-        List<Sale> filtered = salesManager.listAllSales().stream()
-                .filter(s -> {
-                    LocalDate d = s.getTimestamp().toLocalDate();
-                    return (d.isEqual(start) || d.isAfter(start))
-                            && (d.isEqual(end)   || d.isBefore(end));
-                })
-                .collect(Collectors.toList());
-
-        System.out.println("\nSales from " + start + " to " + end + ":");
-        System.out.printf("%-15s %-25s %10s %20s%n", "ISBN", "Title", "Quantity", "Timestamp");
+        toConsole(sink -> writeSalesByDateRange(start, end, sink));
+    }
+
+    /**
+     * Writes all sales between the given start and end dates (inclusive)
+     * to a sink, in time order.
+     *
+     * @param start inclusive start date
+     * @param end   inclusive end date
+     * @param sink  where the rows go
+     * @throws IOException if the sink fails
+     */
+    public void writeSalesByDateRange(LocalDate start, LocalDate end, ReportSink sink) throws IOException {
+        long startNanos = Metrics.start();
+        ReportEvent event = ReportEvent.start("salesByDateRange");
+        List<Sale> filtered = salesManager.salesByDateRange(start, end);
+
+        sink.begin("Sales from " + start + " to " + end + ":", SALES_COLUMNS);
         for (Sale s : filtered) {
-            System.out.printf("%-15s %-25s %10d %20s%n",
-                    s.getBook().getIsbn(),
-                    s.getBook().getTitle(),
-                    s.getQuantity(),
-                    s.getTimestamp());
+            if (sink.isFull()) {
+                break;
+            }
+            Book b = s.getBook();
+            sink.text(b.getIsbn()).text(b.getTitle()).integer(s.getQuantity()).timestamp(s.getTimestamp())
+                    .endRow();
+        }
+        sink.end();
+        event.finish(filtered.size());
+        Metrics.REPORT_SALES_BY_DATE.stop(startNanos);
+    }
+
+    /**
+     * Prints the default dashboard: revenue, top sellers, a date-range summary
+     * and hour-of-day and weekday histograms, all from one pass over the sales.
+     *
+     * @param start inclusive start date of the range summary
+     * @param end   inclusive end date of the range summary
+     * @param topN  the number of top titles to display
+     * @see SalesAggregators#dashboard(LocalDate, LocalDate, int)
+     */
+    public void printDashboard(LocalDate start, LocalDate end, int topN) {
+        printDashboard(SalesAggregators.dashboard(start, end, topN));
+    }
+
+    /**
+     * Runs aggregators over the sales history and prints them to the console,
+     * through the same buffered writer as {@link ReportSinks#console()}.
+     *
+     * @param aggregators fresh aggregators to run
+     * @see #writeDashboard(List, Writer)
+     */
+    public void printDashboard(List<SalesAggregator> aggregators) {
+        try (Writer out = ReportSinks.consoleWriter()) {
+            writeDashboard(aggregators, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Feeds every sale to each aggregator in a single pass over a snapshot of
+     * the history, then writes the aggregators in order.
+     *
+     * @param aggregators fresh aggregators to run
+     * @param out         where the dashboard goes; flushed, not closed
+     * @throws IOException if writing fails
+     */
+    public void writeDashboard(List<SalesAggregator> aggregators, Writer out) throws IOException {
+        long startNanos = Metrics.start();
+        ReportEvent event = ReportEvent.start("dashboard");
+        SalesSnapshot sales = salesManager.snapshot();
+        SalesAggregator[] run = aggregators.toArray(new SalesAggregator[0]);
+        int n = sales.size();
+        for (int row = 0; row < n; row++) {
+            for (SalesAggregator a : run) {
+                a.accept(sales, row);
+            }
+        }
+
+        PrintWriter pw = new PrintWriter(out);
+        pw.println("\nDashboard (" + n + " sales):");
+        for (SalesAggregator a : run) {
+            a.print(pw);
         }
+        pw.flush();
+        if (pw.checkError()) {
+            throw new IOException("Failed to write the dashboard");
+        }
+        event.finish(n);
+        Metrics.REPORT_DASHBOARD.stop(startNanos);
+    }
+
+    /** Runs a tabular report against the console sink. */
+    private static void toConsole(Report report) {
+        try (ReportSink sink = ReportSinks.console()) {
+            report.writeTo(sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Report {
+        void writeTo(ReportSink sink) throws IOException;
     }
 }
@@ -0,0 +1,82 @@
+package com.ibrahim.bookstore.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Destination for the rows of a tabular report.
+ *
+ * <p>{@link ReportGenerator} calls {@link #begin} once, then appends each
+ * row field by field with the typed methods and {@link #endRow()}, and
+ * finally calls {@link #end()}. Fields are written straight to the
+ * underlying buffered writer, with no per-row format string. Built-in
+ * sinks for the console, CSV, JSON Lines and fixed-width text, and a
+ * paging wrapper, are in {@link ReportSinks}. Sinks are not thread-safe.</p>
+ *
+ * <p>A sink may be reused for several reports. {@link #close()} releases
+ * the underlying writer, except for the console, which is only flushed.</p>
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Starts a report.
+     *
+     * @param title   human-readable title, shown by text sinks only
+     * @param columns the columns of every row, in order
+     * @throws IOException if writing fails
+     */
+    void begin(String title, List<ReportColumn> columns) throws IOException;
+
+    /**
+     * Appends a text field.
+     *
+     * @param value the value, may be {@code null}
+     * @return this sink
+     * @throws IOException if writing fails
+     */
+    ReportSink text(String value) throws IOException;
+
+    /**
+     * Appends an integer field.
+     *
+     * @param value the value
+     * @return this sink
+     * @throws IOException if writing fails
+     */
+    ReportSink integer(long value) throws IOException;
+
+    /**
+     * Appends a timestamp field in ISO-8601 form.
+     *
+     * @param value the value
+     * @return this sink
+     * @throws IOException if writing fails
+     */
+    ReportSink timestamp(LocalDateTime value) throws IOException;
+
+    /**
+     * Ends the current row.
+     *
+     * @throws IOException if writing fails
+     */
+    void endRow() throws IOException;
+
+    /**
+     * Returns whether the sink takes no more rows, for example because a
+     * page limit was reached; reports stop producing rows once it does.
+     *
+     * @return {@code true} if further rows would be discarded
+     */
+    default boolean isFull() {
+        return false;
+    }
+
+    /**
+     * Ends the report and flushes buffered output.
+     *
+     * @throws IOException if writing fails
+     */
+    void end() throws IOException;
+}
@@ -0,0 +1,469 @@
+package com.ibrahim.bookstore.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Factory methods for the built-in {@link ReportSink}s.
+ *
+ * <p>Every sink writes through a 64&nbsp;KB {@link BufferedWriter}, so a
+ * report reaches the file or console in a few large writes instead of one
+ * synchronized {@code printf} per row:</p>
+ * <ul>
+ *   <li>{@link #console()} – fixed-width text on {@code System.out}, the
+ *       layout the {@code ReportGenerator.print...} methods have always used.</li>
+ *   <li>{@link #fixedWidth(Writer)} – the same layout to any writer.</li>
+ *   <li>{@link #csv(Writer)} – RFC&nbsp;4180 CSV with a header of column keys.</li>
+ *   <li>{@link #jsonLines(Writer)} – one JSON object per row.</li>
+ *   <li>{@link #paged(ReportSink, long, long)} – passes on one page of rows.</li>
+ * </ul>
+ */
+public final class ReportSinks {
+    /** Output formats for {@link #open(Path, Format)}. */
+    public enum Format {
+        /** Comma-separated values with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        JSON_LINES,
+        /** Title, column headings and padded columns, as on the console. */
+        FIXED_WIDTH
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /** Prevent instantiation. */
+    private ReportSinks() { throw new AssertionError("Cannot instantiate ReportSinks"); }
+
+    /**
+     * Returns a fixed-width sink on the current {@code System.out}; closing
+     * it flushes but leaves {@code System.out} open.
+     *
+     * @return the console sink
+     */
+    public static ReportSink console() {
+        return new FixedWidthSink(consoleWriter(), false);
+    }
+
+    /**
+     * Returns a buffered writer on the current {@code System.out}; closing
+     * it flushes but leaves {@code System.out} open.
+     *
+     * @return the console writer
+     */
+    static Writer consoleWriter() {
+        return new BufferedWriter(new PrintStreamWriter(System.out), BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a fixed-width text sink; closing it closes {@code out}.
+     *
+     * @param out the destination
+     * @return the sink
+     */
+    public static ReportSink fixedWidth(Writer out) {
+        return new FixedWidthSink(buffered(out), true);
+    }
+
+    /**
+     * Returns a CSV sink; closing it closes {@code out}.
+     *
+     * @param out the destination
+     * @return the sink
+     */
+    public static ReportSink csv(Writer out) {
+        return new CsvSink(buffered(out));
+    }
+
+    /**
+     * Returns a JSON Lines sink; closing it closes {@code out}.
+     *
+     * @param out the destination
+     * @return the sink
+     */
+    public static ReportSink jsonLines(Writer out) {
+        return new JsonLinesSink(buffered(out));
+    }
+
+    /**
+     * Returns a sink of the given format over {@code out}.
+     *
+     * @param out    the destination, closed with the sink
+     * @param format the output format
+     * @return the sink
+     */
+    public static ReportSink create(Writer out, Format format) {
+        switch (format) {
+            case CSV:
+                return csv(out);
+            case JSON_LINES:
+                return jsonLines(out);
+            default:
+                return fixedWidth(out);
+        }
+    }
+
+    /**
+     * Creates or replaces a UTF-8 file and returns a sink writing to it.
+     *
+     * @param path   the file to write
+     * @param format the output format
+     * @return the sink; close it to finish the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static ReportSink open(Path path, Format format) throws IOException {
+        return create(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), format);
+    }
+
+    /**
+     * Wraps a sink so that only rows {@code offset} to
+     * {@code offset + limit - 1} of each report reach it; once the page is
+     * complete the wrapper reports {@link ReportSink#isFull() full}.
+     *
+     * @param sink   the destination
+     * @param offset rows to skip
+     * @param limit  maximum rows to pass on
+     * @return the paging sink
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative
+     */
+    public static ReportSink paged(ReportSink sink, long offset, long limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        return new PagedSink(sink, offset, limit);
+    }
+
+    private static Writer buffered(Writer out) {
+        return out instanceof BufferedWriter ? out : new BufferedWriter(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Common row bookkeeping: tracks the current column and checks that
+     * every row has exactly one field per column.
+     */
+    private abstract static class WriterSink implements ReportSink {
+        final Writer out;
+        private final boolean closeWriter;
+        List<ReportColumn> columns = List.of();
+        private int field;
+
+        WriterSink(Writer out, boolean closeWriter) {
+            this.out = out;
+            this.closeWriter = closeWriter;
+        }
+
+        /** Writes the title and heading lines, if the format has them. */
+        abstract void start(String title) throws IOException;
+
+        /** Writes one field; {@code text} is false for numbers. */
+        abstract void field(int index, ReportColumn column, String value, boolean text) throws IOException;
+
+        /** Terminates a row. */
+        abstract void finishRow() throws IOException;
+
+        @Override
+        public void begin(String title, List<ReportColumn> columns) throws IOException {
+            this.columns = List.copyOf(columns);
+            this.field = 0;
+            start(title);
+        }
+
+        @Override
+        public ReportSink text(String value) throws IOException {
+            return append(value, true);
+        }
+
+        @Override
+        public ReportSink integer(long value) throws IOException {
+            return append(Long.toString(value), false);
+        }
+
+        @Override
+        public ReportSink timestamp(LocalDateTime value) throws IOException {
+            return append(value == null ? null : value.toString(), true);
+        }
+
+        private ReportSink append(String value, boolean text) throws IOException {
+            if (field >= columns.size()) {
+                throw new IllegalStateException("Row has more fields than the " + columns.size() + " columns");
+            }
+            field(field, columns.get(field), value, text);
+            field++;
+            return this;
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            if (field != columns.size()) {
+                throw new IllegalStateException("Row has " + field + " fields but the report has "
+                        + columns.size() + " columns");
+            }
+            finishRow();
+            field = 0;
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closeWriter) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+
+    private static final class FixedWidthSink extends WriterSink {
+        FixedWidthSink(Writer out, boolean closeWriter) {
+            super(out, closeWriter);
+        }
+
+        @Override
+        void start(String title) throws IOException {
+            out.write(LINE_SEPARATOR);
+            out.write(title);
+            out.write(LINE_SEPARATOR);
+            for (int i = 0; i < columns.size(); i++) {
+                ReportColumn c = columns.get(i);
+                field(i, c, c.getLabel(), true);
+            }
+            out.write(LINE_SEPARATOR);
+        }
+
+        @Override
+        void field(int index, ReportColumn column, String value, boolean text) throws IOException {
+            if (index > 0) {
+                out.write(' ');
+            }
+            String s = String.valueOf(value);
+            int padding = column.getWidth() - s.length();
+            if (column.isRightAligned()) {
+                pad(padding);
+                out.write(s);
+            } else {
+                out.write(s);
+                pad(padding);
+            }
+        }
+
+        private void pad(int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                out.write(' ');
+            }
+        }
+
+        @Override
+        void finishRow() throws IOException {
+            out.write(LINE_SEPARATOR);
+        }
+    }
+
+    private static final class CsvSink extends WriterSink {
+        CsvSink(Writer out) {
+            super(out, true);
+        }
+
+        @Override
+        void start(String title) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                field(i, columns.get(i), columns.get(i).getKey(), true);
+            }
+            out.write(LINE_SEPARATOR);
+        }
+
+        @Override
+        void field(int index, ReportColumn column, String value, boolean text) throws IOException {
+            if (index > 0) {
+                out.write(',');
+            }
+            if (value == null) {
+                return;
+            }
+            if (!text || !needsQuotes(value)) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+
+        private static boolean needsQuotes(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void finishRow() throws IOException {
+            out.write(LINE_SEPARATOR);
+        }
+    }
+
+    private static final class JsonLinesSink extends WriterSink {
+        JsonLinesSink(Writer out) {
+            super(out, true);
+        }
+
+        @Override
+        void start(String title) {
+            // JSON Lines has no title or header; every row names its fields.
+        }
+
+        @Override
+        void field(int index, ReportColumn column, String value, boolean text) throws IOException {
+            out.write(index == 0 ? '{' : ',');
+            string(column.getKey());
+            out.write(':');
+            if (value == null) {
+                out.write("null");
+            } else if (text) {
+                string(value);
+            } else {
+                out.write(value);
+            }
+        }
+
+        private void string(String s) throws IOException {
+            out.write('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"': out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                }
+            }
+            out.write('"');
+        }
+
+        @Override
+        void finishRow() throws IOException {
+            out.write(columns.isEmpty() ? "{}\n" : "}\n");
+        }
+    }
+
+    private static final class PagedSink implements ReportSink {
+        private final ReportSink target;
+        private final long offset;
+        private final long limit;
+        private long row;
+
+        PagedSink(ReportSink target, long offset, long limit) {
+            this.target = target;
+            this.offset = offset;
+            this.limit = limit;
+        }
+
+        private boolean inPage() {
+            return row >= offset && row - offset < limit;
+        }
+
+        @Override
+        public void begin(String title, List<ReportColumn> columns) throws IOException {
+            row = 0;
+            target.begin(title, columns);
+        }
+
+        @Override
+        public ReportSink text(String value) throws IOException {
+            if (inPage()) {
+                target.text(value);
+            }
+            return this;
+        }
+
+        @Override
+        public ReportSink integer(long value) throws IOException {
+            if (inPage()) {
+                target.integer(value);
+            }
+            return this;
+        }
+
+        @Override
+        public ReportSink timestamp(LocalDateTime value) throws IOException {
+            if (inPage()) {
+                target.timestamp(value);
+            }
+            return this;
+        }
+
+        @Override
+        public void endRow() throws IOException {
+            if (inPage()) {
+                target.endRow();
+            }
+            row++;
+        }
+
+        @Override
+        public boolean isFull() {
+            return row >= offset && row - offset >= limit || target.isFull();
+        }
+
+        @Override
+        public void end() throws IOException {
+            target.end();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
+
+    /** Adapts a {@link PrintStream} so it can sit behind a {@link BufferedWriter}. */
+    private static final class PrintStreamWriter extends Writer {
+        private final PrintStream stream;
+
+        PrintStreamWriter(PrintStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            stream.print(String.valueOf(cbuf, off, len));
+        }
+
+        @Override
+        public void flush() {
+            stream.flush();
+        }
+
+        @Override
+        public void close() {
+            stream.flush();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ibrahim.bookstore.service;
+
+import java.io.PrintWriter;
+
+/**
+ * One metric of the dashboard report, fed row by row from a single pass.
+ *
+ * <p>{@link ReportGenerator#writeDashboard(java.util.List, java.io.Writer)} walks a
+ * {@link SalesSnapshot} once and hands every row to each aggregator, so
+ * adding a metric adds work per row but never another scan. Implementations
+ * read the fields they need through the snapshot's {@code get...(row)}
+ * accessors, which avoids creating {@link com.ibrahim.bookstore.model.Sale}
+ * objects. Built-in aggregators are in {@link SalesAggregators}. Instances
+ * hold per-run state and are not thread-safe.</p>
+ */
+public interface SalesAggregator {
+
+    /**
+     * Accounts for one sale.
+     *
+     * @param sales the snapshot being scanned
+     * @param row   the row to account for
+     */
+    void accept(SalesSnapshot sales, int row);
+
+    /**
+     * Prints the result after the pass.
+     *
+     * @param out where to print; buffered, and flushed by the caller
+     */
+    void print(PrintWriter out);
+}
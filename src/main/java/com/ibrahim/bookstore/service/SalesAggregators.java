@@ -0,0 +1,196 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Money;
+
+import java.io.PrintWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Built-in {@link SalesAggregator}s for the dashboard report.
+ */
+public final class SalesAggregators {
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int BAR_WIDTH = 40;
+
+    /** Prevent instantiation. */
+    private SalesAggregators() {
+    }
+
+    /**
+     * Returns the default dashboard: revenue, top sellers, a date-range
+     * summary and hour-of-day and weekday histograms of units sold.
+     *
+     * @param start inclusive start date of the range summary
+     * @param end   inclusive end date of the range summary
+     * @param topN  the number of top titles to list
+     * @return new aggregators, in print order
+     */
+    public static List<SalesAggregator> dashboard(LocalDate start, LocalDate end, int topN) {
+        return List.of(revenue(), topSellers(topN), dateRange(start, end), hourOfDay(), dayOfWeek());
+    }
+
+    /**
+     * Sums revenue, units and sales.
+     *
+     * @return a new aggregator
+     */
+    public static SalesAggregator revenue() {
+        return new SalesAggregator() {
+            private long cents;
+            private long units;
+            private long count;
+
+            @Override
+            public void accept(SalesSnapshot sales, int row) {
+                int qty = sales.getQuantity(row);
+                cents += sales.getPriceCents(row) * qty;
+                units += qty;
+                count++;
+            }
+
+            @Override
+            public void print(PrintWriter out) {
+                out.printf("Total Revenue: €%s%n", Money.format(cents));
+                out.printf("Sales: %d, Units: %d%n", count, units);
+            }
+        };
+    }
+
+    /**
+     * Ranks titles by units sold.
+     *
+     * @param topN the number of top titles to print
+     * @return a new aggregator
+     */
+    public static SalesAggregator topSellers(int topN) {
+        return new SalesAggregator() {
+            private final SalesTotals totals = new SalesTotals();
+
+            @Override
+            public void accept(SalesSnapshot sales, int row) {
+                Book b = sales.getBook(row);
+                int qty = sales.getQuantity(row);
+                totals.add(b.getIsbn(), b.getTitle(), qty, sales.getPriceCents(row) * qty, 1);
+            }
+
+            @Override
+            public void print(PrintWriter out) {
+                Map<String, Integer> top = totals.topSellingBooks(topN);
+                out.println("\nTop " + topN + " Selling Books:");
+                out.printf("%-30s %10s%n", "Book (ISBN - Title)", "Units Sold");
+                top.forEach((book, units) -> out.printf("%-30s %10d%n", book, units));
+            }
+        };
+    }
+
+    /**
+     * Summarizes the sales between two dates (inclusive).
+     *
+     * @param start inclusive start date
+     * @param end   inclusive end date
+     * @return a new aggregator
+     */
+    public static SalesAggregator dateRange(LocalDate start, LocalDate end) {
+        long from = start.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long to = end.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        return new SalesAggregator() {
+            private long cents;
+            private long units;
+            private long count;
+
+            @Override
+            public void accept(SalesSnapshot sales, int row) {
+                long t = sales.getEpochSecond(row);
+                if (t >= from && t < to) {
+                    int qty = sales.getQuantity(row);
+                    cents += sales.getPriceCents(row) * qty;
+                    units += qty;
+                    count++;
+                }
+            }
+
+            @Override
+            public void print(PrintWriter out) {
+                out.println("\nSales from " + start + " to " + end + ":");
+                out.printf("Sales: %d, Units: %d, Revenue: €%s%n", count, units, Money.format(cents));
+            }
+        };
+    }
+
+    /**
+     * Histograms units sold by hour of day.
+     *
+     * @return a new aggregator
+     */
+    public static SalesAggregator hourOfDay() {
+        String[] labels = new String[24];
+        for (int h = 0; h < 24; h++) {
+            labels[h] = String.format("%02d:00", h);
+        }
+        return new Histogram("Units by Hour", labels) {
+            @Override
+            int bucket(long epochSecond) {
+                return Math.floorMod(epochSecond, SECONDS_PER_DAY) / 3600;
+            }
+        };
+    }
+
+    /**
+     * Histograms units sold by day of the week.
+     *
+     * @return a new aggregator
+     */
+    public static SalesAggregator dayOfWeek() {
+        String[] labels = new String[7];
+        for (DayOfWeek d : DayOfWeek.values()) {
+            labels[d.ordinal()] = d.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+        }
+        return new Histogram("Units by Weekday", labels) {
+            @Override
+            int bucket(long epochSecond) {
+                // 1970-01-01 was a Thursday, ordinal 3 with Monday first
+                return (int) Math.floorMod(Math.floorDiv(epochSecond, SECONDS_PER_DAY) + 3, 7L);
+            }
+        };
+    }
+
+    /** Units sold per time bucket, printed as a bar chart. */
+    private abstract static class Histogram implements SalesAggregator {
+        private final String title;
+        private final String[] labels;
+        private final long[] units;
+
+        Histogram(String title, String[] labels) {
+            this.title = title;
+            this.labels = labels;
+            this.units = new long[labels.length];
+        }
+
+        /** Maps a sale time to its bucket. */
+        abstract int bucket(long epochSecond);
+
+        @Override
+        public void accept(SalesSnapshot sales, int row) {
+            units[bucket(sales.getEpochSecond(row))] += sales.getQuantity(row);
+        }
+
+        @Override
+        public void print(PrintWriter out) {
+            long max = 1;
+            for (long u : units) {
+                max = Math.max(max, u);
+            }
+            out.println("\n" + title + ":");
+            for (int i = 0; i < units.length; i++) {
+                out.printf("%-6s %10d %s%n", labels[i], units[i], "#".repeat((int) (units[i] * BAR_WIDTH / max)));
+            }
+        }
+    }
+}
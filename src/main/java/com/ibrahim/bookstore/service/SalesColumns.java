@@ -0,0 +1,222 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.util.BinarySnapshot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Column-oriented storage for a sales history.
+ *
+ * <p>Each sale is one row spread over growable primitive arrays: epoch
+ * second and nanosecond of its timestamp (UTC), quantity, price in cents and
+ * an id into a dictionary of distinct books. A row costs 28 bytes and no
+ * objects, against several objects per {@link Sale}, so very long histories
+ * stay small and cheap to garbage-collect. {@link Sale} instances are only
+ * created when a caller asks for a row.</p>
+ *
+ * <p>Rows are append-only and a full column is replaced by a larger copy
+ * rather than resized in place, which lets {@link #snapshot()} hand out
+ * views that share the arrays. Otherwise not thread-safe; {@link SalesManager}
+ * guards it with its own lock.</p>
+ */
+class SalesColumns {
+    private long[] epochSeconds;
+    private int[] nanos;
+    private int[] quantities;
+    private int[] bookIds;
+    private long[] priceCents;
+    private int size;
+
+    private Book[] books = new Book[16];
+    private int bookCount;
+    private final Map<BookKey, Integer> bookIdsByKey = new HashMap<>();
+
+    /**
+     * Creates empty columns with room for {@code capacity} rows.
+     *
+     * @param capacity initial row capacity
+     */
+    SalesColumns(int capacity) {
+        int n = Math.max(16, capacity);
+        epochSeconds = new long[n];
+        nanos = new int[n];
+        quantities = new int[n];
+        bookIds = new int[n];
+        priceCents = new long[n];
+    }
+
+    /**
+     * Creates columns holding a copy of a sales list.
+     *
+     * @param sales the sales, in row order
+     * @return the filled columns
+     */
+    static SalesColumns of(List<Sale> sales) {
+        SalesColumns columns = new SalesColumns(sales.size());
+        for (Sale s : sales) {
+            columns.add(s);
+        }
+        return columns;
+    }
+
+    /**
+     * Creates columns that adopt the arrays of a decoded binary snapshot.
+     *
+     * <p>No {@link Sale} is built per row: the row arrays are taken over as
+     * they are and only the book ids are remapped, in place, onto this
+     * history's dictionary. The table must not be used afterwards.</p>
+     *
+     * @param table the decoded snapshot
+     * @return columns backed by the table's arrays
+     */
+    static SalesColumns of(BinarySnapshot.SalesTable table) {
+        SalesColumns columns = new SalesColumns(0);
+        Book[] dictionary = table.books();
+        int[] remap = new int[dictionary.length];
+        for (int id = 0; id < dictionary.length; id++) {
+            remap[id] = columns.bookId(dictionary[id]);
+        }
+        int[] ids = table.bookIds();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = remap[ids[i]];
+        }
+        columns.epochSeconds = table.epochSeconds();
+        columns.nanos = table.nanos();
+        columns.quantities = table.quantities();
+        columns.bookIds = ids;
+        columns.priceCents = table.priceCents();
+        columns.size = table.size();
+        return columns;
+    }
+
+    /**
+     * Appends a sale as a new row.
+     *
+     * @param sale the sale to store; only its values are kept
+     */
+    void add(Sale sale) {
+        if (size == epochSeconds.length) {
+            int n = Math.max(16, size * 2);
+            epochSeconds = Arrays.copyOf(epochSeconds, n);
+            nanos = Arrays.copyOf(nanos, n);
+            quantities = Arrays.copyOf(quantities, n);
+            bookIds = Arrays.copyOf(bookIds, n);
+            priceCents = Arrays.copyOf(priceCents, n);
+        }
+        Book book = sale.getBook();
+        LocalDateTime ts = sale.getTimestamp();
+        epochSeconds[size] = ts.toEpochSecond(ZoneOffset.UTC);
+        nanos[size] = ts.getNano();
+        quantities[size] = sale.getQuantity();
+        priceCents[size] = sale.getPriceCents();
+        bookIds[size] = bookId(book);
+        size++;
+    }
+
+    /** Returns the dictionary id of a book, adding it if it is new. */
+    private int bookId(Book book) {
+        return bookIdsByKey.computeIfAbsent(new BookKey(book), k -> {
+            if (bookCount == books.length) {
+                books = Arrays.copyOf(books, bookCount * 2);
+            }
+            books[bookCount] = book;
+            return bookCount++;
+        });
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the row count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the time column: the epoch second of every row, in row order.
+     *
+     * <p>This is the live array, not a copy; only entries below
+     * {@link #size()} are meaningful, and it is replaced when the columns
+     * grow, so callers must fetch it again after an {@link #add}. It must
+     * not be modified.</p>
+     *
+     * @return the backing time column
+     */
+    long[] epochSeconds() {
+        return epochSeconds;
+    }
+
+    /**
+     * Returns a copy-free view of the rows stored so far.
+     *
+     * @return a snapshot sharing this history's columns
+     */
+    SalesSnapshot snapshot() {
+        return new SalesSnapshot(books, epochSeconds, nanos, quantities, bookIds, priceCents, size);
+    }
+
+    /**
+     * Computes revenue and unit totals straight from the columns.
+     *
+     * <p>Sums are kept per dictionary id in primitive arrays, so the scan
+     * does no hashing or allocation per row; the per-title results are then
+     * handed to a fresh {@link SalesTotals}.</p>
+     *
+     * @return totals over all rows
+     */
+    SalesTotals summarize() {
+        int d = bookCount;
+        long[] units = new long[d];
+        long[] cents = new long[d];
+        long[] count = new long[d];
+        for (int i = 0; i < size; i++) {
+            int id = bookIds[i];
+            units[id] += quantities[i];
+            cents[id] += priceCents[i] * quantities[i];
+            count[id]++;
+        }
+        SalesTotals totals = new SalesTotals();
+        for (int id = 0; id < d; id++) {
+            Book b = books[id];
+            totals.add(b.getIsbn(), b.getTitle(), units[id], cents[id], count[id]);
+        }
+        return totals;
+    }
+
+    /** Identity of a dictionary entry; price is a column of its own. */
+    private static final class BookKey {
+        private final String isbn;
+        private final String title;
+        private final String author;
+
+        private BookKey(Book b) {
+            this.isbn = b.getIsbn();
+            this.title = b.getTitle();
+            this.author = b.getAuthor();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BookKey)) {
+                return false;
+            }
+            BookKey k = (BookKey) o;
+            return Objects.equals(isbn, k.isbn) && Objects.equals(title, k.title)
+                    && Objects.equals(author, k.author);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isbn, title, author);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.util.CSVUtil;
+import com.ibrahim.bookstore.util.AtomicFiles;
+import com.ibrahim.bookstore.util.CsvWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Append-only write-ahead journal of recorded sales with group commit.
+ *
+ * <p>The journal is a sales CSV file (header plus one row per sale) that only
+ * ever grows between checkpoints. Callers {@linkplain #enqueue enqueue} a sale
+ * and then {@linkplain #awaitDurable wait} until it is on disk. A single
+ * committer thread collects everything enqueued within the configured commit
+ * delay, writes it in one block and issues one {@code fsync} for the whole
+ * batch, so concurrent tills share the cost of each sync. A commit delay of
+ * zero syncs as soon as the previous sync finishes, which still batches
+ * whatever arrived meanwhile.</p>
+ *
+ * <p>A checkpoint does not rewrite the journal in place. {@link #rotate()}
+ * seals the current file as a numbered segment ({@code <name>.1},
+ * {@code <name>.2}, ...) and starts an empty one, which takes only as long
+ * as the last pending commit; once a snapshot covering the sealed segments
+ * is durable, {@link #discardThrough(long)} deletes them. Sales recorded
+ * while the snapshot is written go to the new file.</p>
+ *
+ * <p>On open, a torn last row left by a crash is cut off. {@link #replay}
+ * reads back every sealed segment and then the current file, that is, all
+ * sales not yet covered by a completed snapshot.</p>
+ */
+public class SalesJournal implements Closeable {
+    /** Default upper bound on how long a sale may wait for its batch’s fsync. */
+    public static final Duration DEFAULT_COMMIT_DELAY = Duration.ofMillis(2);
+
+    private final Path path;
+    private final long commitDelayNanos;
+    private final Thread committer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition work = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private List<Sale> pending = new ArrayList<>();
+    private FileChannel channel;
+    private CsvWriter writer;
+    private long nextSegment;
+    private long enqueued;
+    private long durable;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Opens (or creates) a journal file and starts its committer thread.
+     *
+     * @param path        the journal file
+     * @param commitDelay how long the committer waits to gather a batch before syncing
+     * @throws IOException if the file cannot be opened or repaired
+     */
+    public SalesJournal(Path path, Duration commitDelay) throws IOException {
+        this.path = path;
+        this.commitDelayNanos = commitDelay.toNanos();
+        List<Path> sealed = segments(path);
+        this.nextSegment = sealed.isEmpty() ? 1 : segmentNumber(path, sealed.get(sealed.size() - 1)) + 1;
+        openCurrent();
+        this.committer = new Thread(this::commitLoop, "sales-journal-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Reads back every sale in a journal file.
+     *
+     * @param path the journal file
+     * @return the journaled sales in append order; empty if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Sale> replay(Path path) throws IOException {
+        return replay(path, isbn -> null);
+    }
+
+    /**
+     * Reads back every sale in a journal file, linking rows to catalog books.
+     *
+     * @param path    the journal file
+     * @param catalog returns the canonical book for an ISBN, or {@code null} if unknown
+     * @return the journaled sales in append order; empty if the file does not exist
+     * @throws IOException if the file cannot be read
+     * @see CSVUtil#readSalesFromCsv(String, Function)
+     */
+    public static List<Sale> replay(Path path, Function<String, Book> catalog) throws IOException {
+        List<Sale> sales = new ArrayList<>();
+        for (Path segment : segments(path)) {
+            sales.addAll(CSVUtil.readSalesFromCsv(segment.toString(), catalog));
+        }
+        if (Files.exists(path) && Files.size(path) > 0) {
+            sales.addAll(CSVUtil.readSalesFromCsv(path.toString(), catalog));
+        }
+        return sales;
+    }
+
+    /**
+     * Returns the journal file.
+     *
+     * @return the path this journal writes to
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Appends a sale and waits until it is durable.
+     *
+     * @param sale the sale to journal
+     * @throws IOException if the journal failed or was closed
+     */
+    public void append(Sale sale) throws IOException {
+        awaitDurable(enqueue(sale));
+    }
+
+    /**
+     * Queues a sale for the next group commit without waiting.
+     *
+     * @param sale the sale to journal
+     * @return a ticket to pass to {@link #awaitDurable(long)}
+     * @throws IOException if the journal failed or was closed
+     */
+    long enqueue(Sale sale) throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            pending.add(sale);
+            if (pending.size() == 1) {
+                work.signal();
+            }
+            return ++enqueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a batch of sales for the next group commit without waiting.
+     *
+     * @param sales the sales to journal, in order
+     * @return the ticket of the last sale; waiting for it covers the whole batch
+     * @throws IOException if the journal failed or was closed
+     */
+    long enqueueAll(List<Sale> sales) throws IOException {
+        lock.lock();
+        try {
+            checkUsable();
+            boolean wasIdle = pending.isEmpty();
+            pending.addAll(sales);
+            if (wasIdle && !pending.isEmpty()) {
+                work.signal();
+            }
+            enqueued += sales.size();
+            return enqueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the sale with the given ticket has been synced to disk.
+     *
+     * @param ticket a ticket returned by {@link #enqueue(Sale)}
+     * @throws IOException if the commit failed or the wait was interrupted
+     */
+    void awaitDurable(long ticket) throws IOException {
+        lock.lock();
+        try {
+            while (durable < ticket) {
+                if (failure != null) {
+                    throw new IOException("Sales journal write failed", failure);
+                }
+                committed.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for journal commit");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seals everything journaled so far as a segment and continues in an
+     * empty file.
+     *
+     * <p>Waits for queued sales to be committed, then renames the current
+     * file to the next segment number and opens a fresh one. The caller must
+     * make sure no sale is enqueued during this call, and takes its snapshot
+     * at the same moment, so the sealed segments hold exactly the sales the
+     * snapshot covers.</p>
+     *
+     * @return the number of the sealed segment, for {@link #discardThrough(long)}
+     * @throws IOException if the journal failed or cannot be rotated; the
+     *                     journal is then unusable
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            awaitDurable(enqueued);
+            checkUsable();
+            long number = nextSegment++;
+            try {
+                channel.close();
+                Files.move(path, segmentPath(path, number), StandardCopyOption.ATOMIC_MOVE);
+                openCurrent();
+                AtomicFiles.syncDirectory(path);
+            } catch (IOException e) {
+                failure = e;
+                committed.signalAll();
+                throw e;
+            }
+            return number;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes sealed segments once a snapshot covering them is durable.
+     *
+     * @param number the last segment to delete, as returned by {@link #rotate()};
+     *               older segments left by earlier failed checkpoints go too
+     * @throws IOException if a segment cannot be deleted
+     */
+    void discardThrough(long number) throws IOException {
+        for (Path segment : segments(path)) {
+            if (segmentNumber(path, segment) <= number) {
+                Files.deleteIfExists(segment);
+            }
+        }
+        AtomicFiles.syncDirectory(path);
+    }
+
+    /**
+     * Commits everything still queued, stops the committer and closes the file.
+     *
+     * @throws IOException if the final commit or close fails
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            work.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw new IOException("Sales journal write failed", failure);
+        }
+    }
+
+    private void commitLoop() {
+        while (true) {
+            List<Sale> batch;
+            long upTo;
+            CsvWriter out;
+            FileChannel ch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    work.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                long deadline = System.nanoTime() + commitDelayNanos;
+                long remaining = commitDelayNanos;
+                while (remaining > 0 && !closed) {
+                    try {
+                        remaining = work.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                    remaining = deadline - System.nanoTime();
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                upTo = enqueued;
+                out = writer;
+                ch = channel;
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            try {
+                for (Sale sale : batch) {
+                    CSVUtil.writeSaleRow(out, sale);
+                }
+                out.flush();
+                ch.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = upTo;
+                }
+                committed.signalAll();
+                if (failure != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("Sales journal write failed", failure);
+        }
+        if (closed) {
+            throw new IOException("Sales journal is closed");
+        }
+    }
+
+    /** Opens the current journal file, repairing a torn tail or writing the header. */
+    private void openCurrent() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        writer = new CsvWriter(channel);
+        long size = truncateTornTail(channel.size());
+        channel.position(size);
+        if (size == 0) {
+            writer.line(CSVUtil.SALES_HEADER);
+            writer.flush();
+            channel.force(false);
+        }
+    }
+
+    /** Returns the sealed segments of a journal, oldest first. */
+    private static List<Path> segments(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        List<Path> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.length() > prefix.length() && name.startsWith(prefix)
+                        && name.substring(prefix.length()).chars().allMatch(Character::isDigit);
+            }).forEach(found::add);
+        }
+        found.sort(Comparator.comparingLong(f -> segmentNumber(path, f)));
+        return found;
+    }
+
+    private static Path segmentPath(Path path, long number) {
+        return path.resolveSibling(path.getFileName() + "." + number);
+    }
+
+    private static long segmentNumber(Path path, Path segment) {
+        return Long.parseLong(segment.getFileName().toString().substring(path.getFileName().toString().length() + 1));
+    }
+
+    /** Cuts the file back to just after its last complete line. */
+    private long truncateTornTail(long size) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        long end = size;
+        while (end > 0) {
+            one.clear();
+            channel.read(one, end - 1);
+            if (one.get(0) == '\n') {
+                break;
+            }
+            end--;
+        }
+        if (end < size) {
+            channel.truncate(end);
+            channel.force(true);
+        }
+        return end;
+    }
+}
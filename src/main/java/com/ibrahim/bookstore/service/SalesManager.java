@@ -1,33 +1,72 @@
 package com.ibrahim.bookstore.service;
 
+import com.ibrahim.bookstore.metrics.Metrics;
+import com.ibrahim.bookstore.metrics.SaleRecordedEvent;
+import com.ibrahim.bookstore.metrics.SalesBatchRecordedEvent;
 import com.ibrahim.bookstore.model.Book;
 import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.util.BinarySnapshot;
 import com.ibrahim.bookstore.util.CSVUtil;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Manages sale transactions and history.
  *
  * <p>This class records each sale, persists to CSV, and provides
- * analytics such as total revenue, top-selling titles, and date filtering.</p>
+ * analytics such as total revenue, top-selling titles, and date filtering.
+ * Revenue is taken at the book’s price when the sale is recorded.</p>
+ *
+ * <p>The history is held in primitive columns ({@link SalesColumns});
+ * {@link Sale} objects are created only when returned to a caller.
+ * Revenue and unit totals, overall and per ISBN, and a time-ordered index
+ * are maintained as sales are recorded or loaded, so those queries do not
+ * rescan the history.</p>
+ *
+ * <p>All methods are thread-safe. Every sale is appended to the history
+ * under one manager-wide lock, so appends from concurrent tills are
+ * serialized. The critical section is an O(1) append plus a journal
+ * enqueue; waiting for the journal to sync happens after the lock is
+ * released, so tills overlap everywhere except at the append itself.</p>
  */
 public class SalesManager {
-    private final List<Sale> sales;
+    private final Object lock = new Object();
+    /** Serializes checkpoints so an older snapshot never replaces a newer one. */
+    private final Object saveLock = new Object();
+    private final Function<String, Book> catalog;
+    private SalesColumns sales;
+    private SalesTotals totals;
+    private SalesTimeIndex timeIndex;
+    private SalesJournal journal;
 
     /**
      * Constructs an empty SalesManager.
      */
     public SalesManager() {
-        this.sales = new ArrayList<>();
+        this(List.of());
+    }
+
+    /**
+     * Constructs an empty SalesManager whose loaded and replayed sales
+     * reference the books of a live inventory.
+     *
+     * @param inventory the inventory supplying canonical books by ISBN
+     */
+    public SalesManager(InventoryManager inventory) {
+        this.catalog = inventory::findBook;
+        replaceHistory(List.of());
     }
 
     /**
@@ -37,47 +76,531 @@ public class SalesManager {
      * @throws IOException if the file cannot be read
      */
     public SalesManager(String csvPath) throws IOException {
-        this.sales = CSVUtil.readSalesFromCsv(csvPath);
+        this(CSVUtil.readSalesFromCsv(csvPath));
+    }
+
+    /**
+     * Loads sales history from CSV, linking each sale to the inventory's
+     * book of the same ISBN so a title sold many times is held once.
+     *
+     * @param csvPath   path to sales CSV
+     * @param inventory the inventory supplying canonical books by ISBN
+     * @throws IOException if the file cannot be read
+     */
+    public SalesManager(String csvPath, InventoryManager inventory) throws IOException {
+        this(inventory);
+        loadSales(csvPath);
+    }
+
+    /**
+     * Constructs a manager over an already loaded sales history, for example one
+     * read with {@link CSVUtil#readSalesFromCsvParallel(String)}.
+     *
+     * @param sales the sales history, in recording order; the list is copied
+     */
+    public SalesManager(List<Sale> sales) {
+        this.catalog = isbn -> null;
+        replaceHistory(sales);
+    }
+
+    /**
+     * Computes revenue and unit totals directly from a sales CSV file.
+     *
+     * <p>The file is streamed in a single pass; only per-ISBN counters are
+     * kept in memory, never the sales themselves, so this works on histories
+     * far larger than the heap.</p>
+     *
+     * @param csvPath path to sales CSV
+     * @return the {@link SalesTotals} accumulated over every valid row
+     * @throws IOException if the file cannot be read
+     */
+    public static SalesTotals summarizeCsv(String csvPath) throws IOException {
+        SalesTotals totals = new SalesTotals();
+        try (Stream<Sale> stream = CSVUtil.streamSalesFromCsv(csvPath)) {
+            stream.forEach(totals);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return totals;
+    }
+
+    /**
+     * Estimates the top-N selling books of a sales CSV file with fixed memory.
+     *
+     * <p>The file is streamed once through a {@link SpaceSavingTopSellers}
+     * with {@code capacity} counters, so memory stays constant no matter how
+     * many distinct titles the history contains. Counts may overestimate by
+     * at most total units / capacity.</p>
+     *
+     * @param csvPath  path to sales CSV
+     * @param topN     the number of top titles to return
+     * @param capacity number of titles tracked; should be well above {@code topN}
+     * @return a map of "ISBN - Title" to estimated units sold, in descending order
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, Integer> approximateTopSellingBooks(String csvPath, int topN, int capacity)
+            throws IOException {
+        SpaceSavingTopSellers tracker = new SpaceSavingTopSellers(capacity);
+        try (Stream<Sale> stream = CSVUtil.streamSalesFromCsv(csvPath)) {
+            stream.forEach(tracker);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return tracker.topSellingBooks(topN);
+    }
+
+    /**
+     * Replaces the whole sales history with the contents of a CSV file and
+     * rebuilds the running totals.
+     *
+     * @param csvPath path to sales CSV
+     * @throws IOException           if the file cannot be read; the current history is then kept
+     * @throws IllegalStateException if a journal is open, since its sales would be lost
+     */
+    public void loadSales(String csvPath) throws IOException {
+        checkNoJournal();
+        replaceHistory(CSVUtil.readSalesFromCsv(csvPath, catalog));
+    }
+
+    /**
+     * Replaces the whole sales history with the contents of a binary
+     * snapshot written by {@link #saveSnapshot} and rebuilds the running totals.
+     *
+     * @param snapshotPath path to the snapshot file
+     * @throws IOException if the file cannot be read or is not a sales snapshot;
+     *                     the current history is then kept
+     * @throws IllegalStateException if a journal is open, since its sales would be lost
+     */
+    public void loadSnapshot(String snapshotPath) throws IOException {
+        checkNoJournal();
+        replaceHistory(SalesColumns.of(BinarySnapshot.readSalesTable(snapshotPath)));
+    }
+
+    private void replaceHistory(List<Sale> loaded) {
+        replaceHistory(SalesColumns.of(loaded));
+    }
+
+    private void replaceHistory(SalesColumns columns) {
+        SalesTotals rebuilt = columns.summarize();
+        SalesTimeIndex index = new SalesTimeIndex();
+        index.reset(columns.epochSeconds(), columns.size());
+        synchronized (lock) {
+            checkNoJournal();
+            this.sales = columns;
+            this.totals = rebuilt;
+            this.timeIndex = index;
+        }
+    }
+
+    /** Rejects replacing the history while journaled sales depend on it. */
+    private void checkNoJournal() {
+        synchronized (lock) {
+            if (journal != null) {
+                throw new IllegalStateException(
+                        "Cannot replace the sales history while a journal is open: " + journal.getPath());
+            }
+        }
+    }
+
+    /**
+     * Opens a write-ahead journal with the default commit delay.
+     *
+     * @param journalPath the journal file
+     * @return the number of sales replayed from the journal
+     * @throws IOException if the journal cannot be opened or read
+     * @see #openJournal(String, Duration)
+     */
+    public int openJournal(String journalPath) throws IOException {
+        return openJournal(journalPath, SalesJournal.DEFAULT_COMMIT_DELAY);
+    }
+
+    /**
+     * Opens a write-ahead journal, replays it and journals every later sale.
+     *
+     * <p>Call this after loading the last CSV snapshot: sales found in the
+     * journal are the ones recorded since that snapshot and are appended to
+     * the history. From then on {@link #recordSale} returns only once the
+     * sale is synced to the journal, and {@link #saveSales} discards the
+     * journaled sales once a full snapshot is durable.</p>
+     *
+     * @param journalPath the journal file; created if missing
+     * @param commitDelay how long a group commit may wait to gather concurrent sales
+     * @return the number of sales replayed from the journal
+     * @throws IOException           if the journal cannot be opened or read
+     * @throws IllegalStateException if a journal is already open
+     */
+    public int openJournal(String journalPath, Duration commitDelay) throws IOException {
+        Path path = Paths.get(journalPath);
+        SalesJournal opened = new SalesJournal(path, commitDelay);
+        List<Sale> replayed;
+        try {
+            replayed = SalesJournal.replay(path, catalog);
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        synchronized (lock) {
+            if (journal != null) {
+                opened.close();
+                throw new IllegalStateException("A sales journal is already open: " + journal.getPath());
+            }
+            for (Sale sale : replayed) {
+                append(sale);
+            }
+            journal = opened;
+        }
+        return replayed.size();
+    }
+
+    /**
+     * Commits any queued sales and closes the journal; later sales are kept in memory only.
+     *
+     * @throws IOException if the final commit fails
+     */
+    public void closeJournal() throws IOException {
+        SalesJournal closing;
+        synchronized (lock) {
+            closing = journal;
+            journal = null;
+        }
+        if (closing != null) {
+            closing.close();
+        }
     }
 
     /**
      * Records a sale of copies of a book at the current timestamp.
      *
+     * <p>This only appends to the history; stock is not adjusted. Use
+     * {@link InventoryManager#sell(String, int, SalesManager)} to check and
+     * decrement stock in the same step. When a journal is open, the call
+     * returns once the sale has been synced to it.</p>
+     *
      * @param book     the book sold
      * @param quantity number of copies sold
+     * @return the recorded {@link Sale}
+     * @throws UncheckedIOException if the journal cannot persist the sale
+     */
+    public Sale recordSale(Book book, int quantity) {
+        return recordSale(book, quantity, LocalDateTime.now());
+    }
+
+    /**
+     * Records a sale of copies of a book at a given time, for example when
+     * importing a till export; otherwise identical to {@link #recordSale(Book, int)}.
+     *
+     * @param book      the book sold
+     * @param quantity  number of copies sold
+     * @param timestamp when the sale happened
+     * @return the recorded {@link Sale}
+     * @throws UncheckedIOException if the journal cannot persist the sale
+     */
+    public Sale recordSale(Book book, int quantity, LocalDateTime timestamp) {
+        return queue(book, quantity, timestamp).awaitDurable();
+    }
+
+    /**
+     * Adds a sale to the history and queues it on an open journal, without
+     * waiting for the journal to sync it.
+     *
+     * <p>The journal enqueue happens first, so if it fails nothing has been
+     * recorded and the caller can retry safely. {@link InventoryManager#sell}
+     * calls this while holding a lock stripe, then releases the stripe before
+     * calling {@link PendingSale#awaitDurable()}, so the group-commit delay and
+     * the fsync are never spent holding a stripe.</p>
+     *
+     * @param book      the book sold
+     * @param quantity  number of copies sold
+     * @param timestamp when the sale happened
+     * @return the queued sale, to be awaited by the caller
+     * @throws UncheckedIOException if the journal has failed or is closed; the
+     *                              sale was then not recorded
      */
-    public void recordSale(Book book, int quantity) {
-        sales.add(new Sale(book, quantity, LocalDateTime.now()));
+    PendingSale queue(Book book, int quantity, LocalDateTime timestamp) {
+        long start = Metrics.start();
+        SaleRecordedEvent event = SaleRecordedEvent.start();
+        Sale sale = new Sale(book, quantity, timestamp);
+        SalesJournal j;
+        long ticket = 0;
+        synchronized (lock) {
+            j = journal;
+            if (j != null) {
+                try {
+                    ticket = j.enqueue(sale);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Sale not recorded: sales journal unavailable", e);
+                }
+            }
+            append(sale);
+        }
+        return new PendingSale(sale, j, ticket, start, event);
+    }
+
+    /**
+     * Records many sales, for example an imported till log, in one step.
+     *
+     * <p>The batch's totals are summed before the history lock is taken;
+     * under the lock the rows are appended to the history and time index in
+     * one pass and the totals merged in one step, and an open journal syncs
+     * the whole batch with a single wait. Sales keep their own timestamps;
+     * stock is not adjusted. Sales without a book or timestamp, or with a
+     * non-positive quantity, are skipped. One metric sample and one JFR
+     * event cover the whole batch.</p>
+     *
+     * @param batch the sales to record, in order
+     * @return one {@link BulkResult.Status#RECORDED} or {@code INVALID} per sale
+     * @throws UncheckedIOException if the journal cannot persist the batch
+     */
+    public BulkResult recordSales(Collection<Sale> batch) {
+        long start = Metrics.start();
+        SalesBatchRecordedEvent event = SalesBatchRecordedEvent.start();
+        List<BulkResult.Status> statuses = new ArrayList<>(batch.size());
+        List<Sale> valid = new ArrayList<>(batch.size());
+        for (Sale sale : batch) {
+            boolean ok = sale != null && sale.getBook() != null && sale.getTimestamp() != null
+                    && sale.getQuantity() > 0;
+            statuses.add(ok ? BulkResult.Status.RECORDED : BulkResult.Status.INVALID);
+            if (ok) {
+                valid.add(sale);
+            }
+        }
+        SalesTotals batchTotals = new SalesTotals();
+        valid.forEach(batchTotals);
+        SalesJournal j;
+        long ticket = 0;
+        synchronized (lock) {
+            j = journal;
+            if (j != null) {
+                try {
+                    ticket = j.enqueueAll(valid);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            for (Sale sale : valid) {
+                appendRow(sale);
+            }
+            totals.addAll(batchTotals);
+        }
+        if (j != null && !valid.isEmpty()) {
+            try {
+                j.awaitDurable(ticket);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        event.finish(valid.size(), batch.size() - valid.size(), batchTotals.getUnits(),
+                batchTotals.getRevenueCents());
+        Metrics.RECORD_SALES.stop(start);
+        return new BulkResult(statuses);
+    }
+
+    /**
+     * A sale already added to the history whose journal sync may still be
+     * pending; returned by {@link #queue}.
+     */
+    static final class PendingSale {
+        private final Sale sale;
+        private final SalesJournal journal;
+        private final long ticket;
+        private final long start;
+        private final SaleRecordedEvent event;
+
+        private PendingSale(Sale sale, SalesJournal journal, long ticket, long start,
+                            SaleRecordedEvent event) {
+            this.sale = sale;
+            this.journal = journal;
+            this.ticket = ticket;
+            this.start = start;
+            this.event = event;
+        }
+
+        /**
+         * Returns the queued sale.
+         *
+         * @return the sale added to the history
+         */
+        Sale getSale() {
+            return sale;
+        }
+
+        /**
+         * Waits until the sale is synced to the journal, if one was open.
+         *
+         * @return the recorded {@link Sale}
+         * @throws UncheckedIOException if the journal could not sync the sale;
+         *                              it is still in the in-memory history, so
+         *                              retrying would record it twice
+         */
+        Sale awaitDurable() {
+            if (journal != null) {
+                try {
+                    journal.awaitDurable(ticket);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Sale recorded, but the journal could not sync it", e);
+                }
+            }
+            event.finish(sale.getBook().getIsbn(), sale.getQuantity(), sale.getAmountCents());
+            Metrics.RECORD_SALE.stop(start);
+            return sale;
+        }
+    }
+
+    /** Adds a sale to the history, totals and time index; caller holds the lock. */
+    private void append(Sale sale) {
+        appendRow(sale);
+        totals.accept(sale);
+    }
+
+    /** Adds a sale to the history and time index but not the totals; caller holds the lock. */
+    private void appendRow(Sale sale) {
+        sales.add(sale);
+        timeIndex.add(sales.size() - 1, sales.epochSeconds());
     }
 
     /**
      * Returns all recorded sales as a new list.
      *
+     * <p>This materializes every sale; read-only callers such as reports
+     * should prefer {@link #snapshot()}.</p>
+     *
      * @return a defensive copy of the sales history
      */
     public List<Sale> listAllSales() {
-        return new ArrayList<>(sales);
+        return new ArrayList<>(snapshot());
+    }
+
+    /**
+     * Returns a consistent, read-only view of the sales recorded so far.
+     *
+     * <p>The view shares the history's storage, so taking it costs O(1) and
+     * does not block concurrent {@link #recordSale} calls for longer than
+     * that; sales recorded afterwards are not visible in it.</p>
+     *
+     * @return a {@link SalesSnapshot} of the current history
+     */
+    public SalesSnapshot snapshot() {
+        synchronized (lock) {
+            return sales.snapshot();
+        }
     }
 
     /**
      * Saves current sales history to CSV.
      *
+     * <p>The file is replaced atomically and is on disk before this returns.
+     * With a journal open, this is a checkpoint: the history view is taken
+     * and the journal rotated to a new segment in one short step under the
+     * history lock, the file is written outside it while sales continue, and
+     * the sealed segment is deleted only once the snapshot is durable. A
+     * failed write leaves the previous snapshot and every journaled sale in
+     * place. A crash between the two steps replays the sealed sales a second
+     * time on the next start, but never loses one.</p>
+     *
      * @param csvPath file to write to
      * @throws IOException if writing fails
      */
     public void saveSales(String csvPath) throws IOException {
-        CSVUtil.writeSalesToCsv(sales, csvPath);
+        save(sales -> CSVUtil.writeSalesToCsv(sales, csvPath));
     }
 
     /**
-     * Computes the total revenue from all sales.
+     * Saves current sales history as a binary snapshot, which loads much
+     * faster than CSV. Checkpoints an open journal exactly like {@link #saveSales}.
+     *
+     * @param snapshotPath file to write to
+     * @throws IOException if writing fails
+     */
+    public void saveSnapshot(String snapshotPath) throws IOException {
+        save(sales -> BinarySnapshot.writeSales(sales, snapshotPath));
+    }
+
+    private void save(HistoryWriter writer) throws IOException {
+        synchronized (saveLock) {
+            SalesSnapshot view;
+            SalesJournal j;
+            long sealed = 0;
+            synchronized (lock) {
+                view = sales.snapshot();
+                j = journal;
+                if (j != null) {
+                    sealed = j.rotate();
+                }
+            }
+            writer.write(view);
+            if (j != null) {
+                j.discardThrough(sealed);
+            }
+        }
+    }
+
+    /**
+     * Returns the total revenue from all sales.
      *
      * @return sum of (price × quantity) across all sales
      */
     public double totalRevenue() {
-        return sales.stream()
-                .mapToDouble(s -> s.getBook().getPrice() * s.getQuantity())
-                .sum();
+        synchronized (lock) {
+            return totals.getRevenue();
+        }
+    }
+
+    /**
+     * Returns the total revenue from all sales in cents.
+     *
+     * @return exact sum of (price × quantity) across all sales, in cents
+     */
+    public long totalRevenueCents() {
+        synchronized (lock) {
+            return totals.getRevenueCents();
+        }
+    }
+
+    /**
+     * Returns the total number of copies sold.
+     *
+     * @return sum of quantities across all sales
+     */
+    public long totalUnits() {
+        synchronized (lock) {
+            return totals.getUnits();
+        }
+    }
+
+    /**
+     * Returns the number of copies sold of one title.
+     *
+     * @param isbn the ISBN to look up
+     * @return units sold, or 0 if the title never sold
+     */
+    public long unitsSold(String isbn) {
+        synchronized (lock) {
+            return totals.getUnits(isbn);
+        }
+    }
+
+    /**
+     * Returns the revenue earned by one title.
+     *
+     * @param isbn the ISBN to look up
+     * @return revenue for the title, or 0 if it never sold
+     */
+    public double revenueFor(String isbn) {
+        synchronized (lock) {
+            return totals.getRevenue(isbn);
+        }
+    }
+
+    /**
+     * Returns the revenue earned by one title in cents.
+     *
+     * @param isbn the ISBN to look up
+     * @return revenue for the title in cents, or 0 if it never sold
+     */
+    public long revenueCentsFor(String isbn) {
+        synchronized (lock) {
+            return totals.getRevenueCents(isbn);
+        }
     }
 
     /**
@@ -87,34 +610,61 @@ public class SalesManager {
      * @return a map of "ISBN - Title" to units sold, in descending order
      */
     public Map<String, Integer> topSellingBooks(int topN) {
-        Map<String, Integer> counts = sales.stream()
-                .collect(Collectors.groupingBy(
-                        s -> s.getBook().getIsbn() + " - " + s.getBook().getTitle(),
-                        Collectors.summingInt(Sale::getQuantity)
-                ));
-
-        return counts.entrySet().stream()
-                .sorted(Map.Entry.<String,Integer>comparingByValue(Comparator.reverseOrder()))
-                .limit(topN)
-                .collect(LinkedHashMap::new,
-                        (m,e) -> m.put(e.getKey(), e.getValue()),
-                        LinkedHashMap::putAll);
+        synchronized (lock) {
+            return totals.topSellingBooks(topN);
+        }
     }
 
     /**
      * Filters sales between the given start and end dates (inclusive).
      *
+     * <p>Uses the time index, so the cost depends on the number of matching
+     * sales rather than on the size of the history.</p>
+     *
      * @param start inclusive start date
      * @param end   inclusive end date
-     * @return a list of {@link Sale} in the specified date range
+     * @return a list of {@link Sale} in the specified date range, in time order
      */
     public List<Sale> salesByDateRange(LocalDate start, LocalDate end) {
-        return sales.stream()
-                .filter(s -> {
-                    LocalDate d = s.getTimestamp().toLocalDate();
-                    return (d.isEqual(start) || d.isAfter(start))
-                            && (d.isEqual(end)   || d.isBefore(end));
-                })
-                .collect(Collectors.toList());
+        return salesByDateRange(start, end, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of the sales between the given start and end dates
+     * (inclusive), in time order.
+     *
+     * <p>Only the rows of the page are copied and turned into {@link Sale}
+     * objects, so a bounded page costs the same however many sales the
+     * range holds.</p>
+     *
+     * @param start  inclusive start date
+     * @param end    inclusive end date
+     * @param offset matching sales to skip
+     * @param limit  maximum number of sales to return
+     * @return at most {@code limit} sales of the range, in time order
+     * @throws IllegalArgumentException if {@code offset} or {@code limit} is negative
+     */
+    public List<Sale> salesByDateRange(LocalDate start, LocalDate end, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        long from = SalesTimeIndex.key(start.atStartOfDay());
+        long to = SalesTimeIndex.key(end.plusDays(1).atStartOfDay());
+        int[] rows;
+        SalesSnapshot view;
+        synchronized (lock) {
+            rows = timeIndex.rowsBetween(from, to, sales.epochSeconds(), offset, limit);
+            view = sales.snapshot();
+        }
+        List<Sale> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(view.get(row));
+        }
+        return result;
+    }
+
+    /** Persists the history, given as a snapshot, in some file format. */
+    private interface HistoryWriter {
+        void write(List<Sale> sales) throws IOException;
     }
 }
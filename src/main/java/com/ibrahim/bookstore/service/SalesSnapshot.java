@@ -0,0 +1,138 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only, copy-free view of a sales history as it stood at one moment.
+ *
+ * <p>A snapshot shares the primitive columns of the live history instead of
+ * copying them. The history only ever appends, and growing a column moves it
+ * to a new array, so the rows a snapshot covers are never written again;
+ * sales recorded after {@link SalesManager#snapshot()} are simply not visible.
+ * Taking a snapshot costs O(1) whatever the history size.</p>
+ *
+ * <p>As a {@link java.util.List} it materializes a {@link Sale} on each
+ * {@link #get(int)}; the {@code get...(row)} accessors read single fields
+ * without creating one. The view is immutable and may be shared between
+ * threads.</p>
+ */
+public final class SalesSnapshot extends AbstractList<Sale> implements RandomAccess {
+    private final Book[] books;
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final int[] quantities;
+    private final int[] bookIds;
+    private final long[] priceCents;
+    private final int size;
+
+    SalesSnapshot(Book[] books, long[] epochSeconds, int[] nanos, int[] quantities, int[] bookIds,
+                  long[] priceCents, int size) {
+        this.books = books;
+        this.epochSeconds = epochSeconds;
+        this.nanos = nanos;
+        this.quantities = quantities;
+        this.bookIds = bookIds;
+        this.priceCents = priceCents;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of sales in the view.
+     *
+     * @return the row count
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Materializes one sale.
+     *
+     * <p>Sales of the same title share one {@link Book} as long as its price
+     * still matches the recorded one; otherwise the sale gets a copy carrying
+     * the price it was sold at.</p>
+     *
+     * @param row the row number, in recording order
+     * @return a new {@link Sale} for that row
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    @Override
+    public Sale get(int row) {
+        Book book = getBook(row);
+        long cents = priceCents[row];
+        if (book.getPriceCents() != cents) {
+            book = Book.ofCents(book.getIsbn(), book.getTitle(), book.getAuthor(), cents, book.getQuantity());
+        }
+        return new Sale(book, quantities[row], getTimestamp(row), cents);
+    }
+
+    /**
+     * Returns the book sold in a row, as held by the history's dictionary.
+     *
+     * @param row the row number
+     * @return the shared {@link Book}; its current price may differ from the sale's
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    public Book getBook(int row) {
+        return books[bookIds[checkIndex(row)]];
+    }
+
+    /**
+     * Returns the number of copies sold in a row.
+     *
+     * @param row the row number
+     * @return the quantity
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    public int getQuantity(int row) {
+        return quantities[checkIndex(row)];
+    }
+
+    /**
+     * Returns the unit price of a row in cents.
+     *
+     * @param row the row number
+     * @return the price charged, in cents
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    public long getPriceCents(int row) {
+        return priceCents[checkIndex(row)];
+    }
+
+    /**
+     * Returns the sale time of a row as epoch seconds, treating it as UTC.
+     *
+     * @param row the row number
+     * @return seconds since the epoch
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    public long getEpochSecond(int row) {
+        return epochSeconds[checkIndex(row)];
+    }
+
+    /**
+     * Returns the sale time of a row.
+     *
+     * @param row the row number
+     * @return the timestamp
+     * @throws IndexOutOfBoundsException if {@code row} is outside the view
+     */
+    public LocalDateTime getTimestamp(int row) {
+        checkIndex(row);
+        return LocalDateTime.ofEpochSecond(epochSeconds[row], nanos[row], ZoneOffset.UTC);
+    }
+
+    private int checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside snapshot of " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ibrahim.bookstore.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Timestamp-ordered index over a sales history.
+ *
+ * <p>Holds the row numbers of the history ordered by sale time; the times
+ * themselves are read from the history's own time column
+ * ({@link SalesColumns#epochSeconds()}), which every query passes in, so
+ * they are never stored twice. A range query binary-searches both bounds
+ * and touches only the matching rows.</p>
+ *
+ * <p>Rows are always appended in O(1). Sales recorded live usually arrive
+ * in time order and keep the index sorted; an out-of-order sale only clears
+ * a flag, and the next query restores the order with one stable merge sort,
+ * which is close to linear when few rows are out of place. Timestamps are
+ * converted with a fixed UTC offset, which preserves the ordering of
+ * {@link LocalDateTime} values. Not thread-safe; {@link SalesManager} guards
+ * it with its own lock.</p>
+ */
+class SalesTimeIndex {
+    private int[] rows = new int[16];
+    private int size;
+    private long lastKey = Long.MIN_VALUE;
+    private boolean sorted = true;
+
+    /**
+     * Converts a timestamp to the index key.
+     *
+     * @param ts a sale timestamp
+     * @return seconds since the epoch, treating {@code ts} as UTC
+     */
+    static long key(LocalDateTime ts) {
+        return ts.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Appends a sale row; equal times keep insertion order.
+     *
+     * @param row  the sale’s row number in the history
+     * @param keys the history's time column, holding the key of {@code row}
+     */
+    void add(int row, long[] keys) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        rows[size++] = row;
+        long key = keys[row];
+        if (key < lastKey) {
+            sorted = false;
+        } else {
+            lastKey = key;
+        }
+    }
+
+    /**
+     * Resets the index to cover rows {@code [0, n)} of a loaded history.
+     *
+     * @param keys the history's time column
+     * @param n    the number of rows
+     */
+    void reset(long[] keys, int n) {
+        rows = new int[Math.max(16, n)];
+        size = 0;
+        lastKey = Long.MIN_VALUE;
+        sorted = true;
+        for (int i = 0; i < n; i++) {
+            add(i, keys);
+        }
+    }
+
+    /**
+     * Returns the rows whose time key lies in {@code [from, to)}, in time order.
+     *
+     * @param from inclusive lower bound
+     * @param to   exclusive upper bound
+     * @param keys the history's time column
+     * @return the matching row numbers
+     */
+    int[] rowsBetween(long from, long to, long[] keys) {
+        return rowsBetween(from, to, keys, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of the rows whose time key lies in {@code [from, to)},
+     * in time order; only the page is copied.
+     *
+     * @param from   inclusive lower bound
+     * @param to     exclusive upper bound
+     * @param keys   the history's time column
+     * @param offset matching rows to skip, not negative
+     * @param limit  maximum rows to return, not negative
+     * @return the matching row numbers of the page
+     */
+    int[] rowsBetween(long from, long to, long[] keys, int offset, int limit) {
+        if (to <= from) {
+            return new int[0];
+        }
+        if (!sorted) {
+            mergeSort(rows, new int[size], 0, size, keys);
+            sorted = true;
+        }
+        int lo = lowerBound(from, keys);
+        int hi = lowerBound(to, keys);
+        int first = (int) Math.min(hi, (long) lo + offset);
+        int last = (int) Math.min(hi, (long) first + limit);
+        return Arrays.copyOfRange(rows, first, last);
+    }
+
+    /**
+     * Returns the number of indexed rows.
+     *
+     * @return the index size
+     */
+    int size() {
+        return size;
+    }
+
+    /** First position whose key is {@code >= key}. */
+    private int lowerBound(long key, long[] keys) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[rows[mid]] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Stable merge sort of {@code a[from, to)} by {@code keys[a[i]]}. */
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, long[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, keys);
+        mergeSort(a, tmp, mid, to, keys);
+        if (keys[a[mid - 1]] <= keys[a[mid]]) {
+            return;
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && keys[tmp[i]] <= keys[tmp[j]])) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Money;
+import com.ibrahim.bookstore.model.Sale;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Accumulates revenue and unit totals over a sequence of sales.
+ *
+ * <p>A {@code SalesTotals} keeps only running sums plus one counter per
+ * distinct ISBN, so it can consume an arbitrarily long sales stream (for
+ * example from {@link com.ibrahim.bookstore.util.CSVUtil#streamSalesFromCsv})
+ * in a single pass without retaining any {@link Sale}. Instances are not
+ * thread-safe.</p>
+ */
+public class SalesTotals implements Consumer<Sale> {
+    /** Orders titles from fewest to most units; on ties the larger ISBN is weaker. */
+    private static final Comparator<IsbnTotals> WEAKEST_FIRST = (a, b) -> {
+        int c = Long.compare(a.units, b.units);
+        return c != 0 ? c : b.isbn.compareTo(a.isbn);
+    };
+
+    private final Map<String, IsbnTotals> byIsbn = new HashMap<>();
+    private long revenueCents;
+    private long units;
+    private long saleCount;
+
+    /**
+     * Adds one sale to the totals.
+     *
+     * @param sale the {@link Sale} to account for
+     */
+    @Override
+    public void accept(Sale sale) {
+        Book book = sale.getBook();
+        long amount = sale.getAmountCents();
+        revenueCents += amount;
+        units += sale.getQuantity();
+        saleCount++;
+        IsbnTotals t = byIsbn.computeIfAbsent(book.getIsbn(), k -> new IsbnTotals(k, book.getTitle()));
+        t.units += sale.getQuantity();
+        t.revenueCents += amount;
+    }
+
+    /**
+     * Adds pre-aggregated figures for one title, as computed by a columnar scan.
+     *
+     * @param isbn         the title's ISBN
+     * @param title        the title, kept if the ISBN is new
+     * @param units        copies sold
+     * @param revenueCents revenue earned, in cents
+     * @param sales        number of sales aggregated
+     */
+    void add(String isbn, String title, long units, long revenueCents, long sales) {
+        this.revenueCents += revenueCents;
+        this.units += units;
+        this.saleCount += sales;
+        IsbnTotals t = byIsbn.computeIfAbsent(isbn, k -> new IsbnTotals(k, title));
+        t.units += units;
+        t.revenueCents += revenueCents;
+    }
+
+    /**
+     * Adds every figure of another set of totals, for example those of a
+     * batch summed before it is appended to a history.
+     *
+     * @param other the totals to merge in; left unchanged
+     */
+    void addAll(SalesTotals other) {
+        revenueCents += other.revenueCents;
+        units += other.units;
+        saleCount += other.saleCount;
+        for (IsbnTotals o : other.byIsbn.values()) {
+            IsbnTotals t = byIsbn.computeIfAbsent(o.isbn, k -> new IsbnTotals(k, o.title));
+            t.units += o.units;
+            t.revenueCents += o.revenueCents;
+        }
+    }
+
+    /**
+     * Returns the total revenue of all consumed sales.
+     *
+     * @return sum of (price × quantity)
+     */
+    public double getRevenue() {
+        return Money.toDouble(revenueCents);
+    }
+
+    /**
+     * Returns the total revenue of all consumed sales in cents.
+     *
+     * @return exact sum of (price × quantity), in cents
+     */
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+
+    /**
+     * Returns the total number of copies sold.
+     *
+     * @return sum of quantities
+     */
+    public long getUnits() {
+        return units;
+    }
+
+    /**
+     * Returns the number of sales consumed.
+     *
+     * @return the sale count
+     */
+    public long getSaleCount() {
+        return saleCount;
+    }
+
+    /**
+     * Returns the number of copies sold of one title.
+     *
+     * @param isbn the ISBN to look up
+     * @return units sold, or 0 if the title never sold
+     */
+    public long getUnits(String isbn) {
+        IsbnTotals t = byIsbn.get(isbn);
+        return t == null ? 0 : t.units;
+    }
+
+    /**
+     * Returns the revenue earned by one title.
+     *
+     * @param isbn the ISBN to look up
+     * @return revenue for the title, or 0 if it never sold
+     */
+    public double getRevenue(String isbn) {
+        return Money.toDouble(getRevenueCents(isbn));
+    }
+
+    /**
+     * Returns the revenue earned by one title in cents.
+     *
+     * @param isbn the ISBN to look up
+     * @return revenue for the title in cents, or 0 if it never sold
+     */
+    public long getRevenueCents(String isbn) {
+        IsbnTotals t = byIsbn.get(isbn);
+        return t == null ? 0 : t.revenueCents;
+    }
+
+    /**
+     * Returns the top-N selling books by units sold.
+     *
+     * <p>Selection keeps a min-heap of at most {@code topN} titles while
+     * scanning the per-ISBN counters once, so it costs O(d log N) for d
+     * distinct titles rather than a full sort. Ties are broken by ISBN.</p>
+     *
+     * @param topN the number of top titles to return
+     * @return a map of "ISBN - Title" to units sold, in descending order
+     * @throws ArithmeticException if a title's units exceed {@code Integer.MAX_VALUE}
+     */
+    public Map<String, Integer> topSellingBooks(int topN) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (topN <= 0) {
+            return result;
+        }
+        PriorityQueue<IsbnTotals> heap = new PriorityQueue<>(Math.min(topN, byIsbn.size() + 1), WEAKEST_FIRST);
+        for (IsbnTotals t : byIsbn.values()) {
+            if (heap.size() < topN) {
+                heap.add(t);
+            } else if (WEAKEST_FIRST.compare(t, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(t);
+            }
+        }
+        IsbnTotals[] ranked = new IsbnTotals[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll();
+        }
+        for (IsbnTotals t : ranked) {
+            result.put(t.isbn + " - " + t.title, Math.toIntExact(t.units));
+        }
+        return result;
+    }
+
+    /** Running totals for a single ISBN. */
+    private static final class IsbnTotals {
+        private final String isbn;
+        private final String title;
+        private long units;
+        private long revenueCents;
+
+        private IsbnTotals(String isbn, String title) {
+            this.isbn = isbn;
+            this.title = title;
+        }
+    }
+}
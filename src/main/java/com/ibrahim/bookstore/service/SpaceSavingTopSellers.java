@@ -0,0 +1,137 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Approximate best-seller tracker for unbounded sales streams.
+ *
+ * <p>Implements the Space-Saving algorithm: at most {@code capacity} titles
+ * are monitored at any time. A sale of an unmonitored title evicts the title
+ * with the smallest count and inherits that count as its error. Memory is
+ * therefore fixed regardless of how many sales or distinct ISBNs are seen,
+ * and every reported count overestimates the true units sold by at most
+ * {@code totalUnits / capacity}. Any title that sold more than that bound is
+ * guaranteed to be monitored. Instances are not thread-safe.</p>
+ */
+public class SpaceSavingTopSellers implements Consumer<Sale> {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final TreeSet<Counter> byCount;
+    private long totalUnits;
+    private long sequence;
+
+    /**
+     * Constructs a tracker that monitors up to {@code capacity} titles.
+     *
+     * @param capacity number of counters; larger values tighten the error bound
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public SpaceSavingTopSellers(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.byCount = new TreeSet<>((a, b) -> {
+            int c = Long.compare(a.count, b.count);
+            return c != 0 ? c : Long.compare(a.seq, b.seq);
+        });
+    }
+
+    /**
+     * Adds one sale, weighted by its quantity.
+     *
+     * @param sale the {@link Sale} to account for
+     */
+    @Override
+    public void accept(Sale sale) {
+        Book book = sale.getBook();
+        int quantity = sale.getQuantity();
+        totalUnits += quantity;
+        Counter c = counters.get(book.getIsbn());
+        if (c != null) {
+            byCount.remove(c);
+            c.count += quantity;
+        } else if (counters.size() < capacity) {
+            c = new Counter(book.getIsbn(), book.getTitle(), quantity, 0);
+            counters.put(c.isbn, c);
+        } else {
+            Counter min = byCount.pollFirst();
+            counters.remove(min.isbn);
+            c = new Counter(book.getIsbn(), book.getTitle(), min.count + quantity, min.count);
+            counters.put(c.isbn, c);
+        }
+        c.seq = sequence++;
+        byCount.add(c);
+    }
+
+    /**
+     * Returns the total number of copies seen, the basis of the error bound.
+     *
+     * @return sum of all consumed quantities
+     */
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    /**
+     * Returns the maximum overestimate of any reported count.
+     *
+     * @return {@code totalUnits / capacity}, rounded down
+     */
+    public long getErrorBound() {
+        return totalUnits / capacity;
+    }
+
+    /**
+     * Returns a lower bound on the units sold of a monitored title.
+     *
+     * @param isbn the ISBN to look up
+     * @return units the title certainly sold, or 0 if it is not monitored
+     */
+    public long guaranteedUnits(String isbn) {
+        Counter c = counters.get(isbn);
+        return c == null ? 0 : c.count - c.error;
+    }
+
+    /**
+     * Returns the estimated top-N selling books.
+     *
+     * @param topN the number of top titles to return (at most the capacity)
+     * @return a map of "ISBN - Title" to estimated units sold, in descending order
+     * @throws ArithmeticException if a title's units exceed {@code Integer.MAX_VALUE}
+     */
+    public Map<String, Integer> topSellingBooks(int topN) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        Iterator<Counter> it = byCount.descendingIterator();
+        while (it.hasNext() && result.size() < topN) {
+            Counter c = it.next();
+            result.put(c.isbn + " - " + c.title, Math.toIntExact(c.count));
+        }
+        return result;
+    }
+
+    /** A monitored title with its estimated count and maximum overestimate. */
+    private static final class Counter {
+        private final String isbn;
+        private final String title;
+        private long count;
+        private final long error;
+        private long seq;
+
+        private Counter(String isbn, String title, long count, long error) {
+            this.isbn = isbn;
+            this.title = title;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
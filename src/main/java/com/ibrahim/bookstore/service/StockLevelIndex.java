@@ -0,0 +1,104 @@
+package com.ibrahim.bookstore.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary index of books ordered by stock quantity.
+ *
+ * <p>Holds one (quantity, ISBN) key per book in a concurrent skip list, so
+ * the books below a threshold are a head set: finding them costs
+ * O(log n + k) for k results instead of a scan of the whole inventory.
+ * Callers serialize changes per ISBN ({@link InventoryManager} holds the
+ * book's lock stripe); queries may run concurrently and never block.</p>
+ *
+ * <p>Queries are weakly consistent. Moving a book adds its new key before
+ * removing the old one, so a book is never absent from the index, and
+ * {@link #below} reports each ISBN at most once. A book whose quantity does
+ * not change during a query is always reported correctly; one that changes
+ * concurrently may be reported at its old or its new quantity, and may be
+ * missed if its key moves from a part of the set the query has not reached
+ * yet to a part it has already passed.</p>
+ */
+class StockLevelIndex {
+    private final NavigableSet<Entry> byQuantity = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> byIsbn = new ConcurrentHashMap<>();
+
+    /**
+     * Records the current quantity of a book, replacing any earlier entry.
+     *
+     * @param isbn     the book's ISBN
+     * @param quantity its stock quantity
+     */
+    void put(String isbn, int quantity) {
+        Entry entry = new Entry(quantity, isbn);
+        byQuantity.add(entry);
+        Entry old = byIsbn.put(isbn, entry);
+        if (old != null && !old.equals(entry)) {
+            byQuantity.remove(old);
+        }
+    }
+
+    /**
+     * Drops a book from the index.
+     *
+     * @param isbn the book's ISBN
+     */
+    void remove(String isbn) {
+        Entry old = byIsbn.remove(isbn);
+        if (old != null) {
+            byQuantity.remove(old);
+        }
+    }
+
+    /**
+     * Returns the ISBNs whose quantity is below a threshold.
+     *
+     * @param threshold exclusive upper bound on quantity
+     * @return matching ISBNs, lowest quantity first, ties by ISBN; each at most once
+     */
+    List<String> below(int threshold) {
+        List<String> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Entry e : byQuantity.headSet(new Entry(threshold, ""), false)) {
+            // A book being moved can briefly have two keys; report the first.
+            if (seen.add(e.isbn)) {
+                result.add(e.isbn);
+            }
+        }
+        return result;
+    }
+
+    /** Index key ordered by quantity, then ISBN. */
+    private static final class Entry implements Comparable<Entry> {
+        private final int quantity;
+        private final String isbn;
+
+        private Entry(int quantity, String isbn) {
+            this.quantity = quantity;
+            this.isbn = isbn;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Integer.compare(quantity, o.quantity);
+            return c != 0 ? c : isbn.compareTo(o.isbn);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && compareTo((Entry) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * quantity + isbn.hashCode();
+        }
+    }
+}
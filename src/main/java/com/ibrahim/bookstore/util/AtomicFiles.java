@@ -0,0 +1,85 @@
+package com.ibrahim.bookstore.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe replacement of whole files.
+ *
+ * <p>{@link #write} never touches the target until the new contents are
+ * complete and on disk: it writes a temporary file in the same directory,
+ * forces it, renames it over the target in one atomic step and then syncs
+ * the directory so the rename itself survives a power loss. A reader, or a
+ * restart after a crash, therefore sees either the old file or the new one,
+ * never a truncated mix.</p>
+ */
+public final class AtomicFiles {
+
+    /** Produces the contents of a file through an open channel. */
+    @FunctionalInterface
+    public interface Body {
+        /**
+         * Writes the file contents.
+         *
+         * @param channel the temporary file, positioned at its start; must not be closed
+         * @throws IOException if writing fails
+         */
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    /** Prevent instantiation. */
+    private AtomicFiles() { throw new AssertionError("Cannot instantiate AtomicFiles"); }
+
+    /**
+     * Replaces a file with new contents atomically and durably.
+     *
+     * <p>If {@code body} or any later step fails, the temporary file is
+     * deleted and the target keeps its previous contents.</p>
+     *
+     * @param target the file to create or replace
+     * @param body   writes the new contents
+     * @throws IOException if writing, syncing or renaming fails
+     */
+    public static void write(Path target, Body body) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                body.writeTo(ch);
+                ch.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        syncDirectory(target);
+    }
+
+    /**
+     * Forces the directory entry of a file to disk, so a preceding create,
+     * rename or delete of {@code file} is durable.
+     *
+     * <p>Some platforms, notably Windows, cannot open a directory for
+     * syncing; there the call does nothing, as those file systems journal
+     * directory changes themselves.</p>
+     *
+     * @param file a file whose parent directory should be synced
+     * @throws IOException if the directory can be opened but not synced
+     */
+    public static void syncDirectory(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        FileChannel ch;
+        try {
+            ch = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (ch) {
+            ch.force(true);
+        }
+    }
+}
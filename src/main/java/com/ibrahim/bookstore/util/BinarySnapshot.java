@@ -0,0 +1,562 @@
+package com.ibrahim.bookstore.util;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Versioned binary snapshot format for inventory and sales history.
+ *
+ * <p>A snapshot starts with a fixed header: the magic number {@code BKSN},
+ * a format version and a kind byte (inventory or sales). Strings are stored
+ * as a length-prefixed UTF-8 table; numbers are stored column by column at
+ * fixed width, so loading is a memory-mapped bulk copy instead of text
+ * parsing. Layouts (all integers big-endian):</p>
+ * <pre>
+ * inventory: count:int, count × (isbn, title, author),
+ *            priceCents:long[count], quantity:int[count]
+ * sales:     books:int, books × (isbn, title, author), stock:int[books],
+ *            count:int, bookId:int[count], quantity:int[count], priceCents:long[count],
+ *            epochSecond:long[count], nano:int[count]
+ * string:    byteLength:int (-1 for null), UTF-8 bytes
+ * </pre>
+ * <p>Sales reference a dictionary of distinct books, so a title sold many
+ * times is stored, and loaded, once. Timestamps are stored as UTC epoch
+ * seconds plus nanoseconds, which round-trips {@link LocalDateTime} exactly.
+ * The static {@code convert...} methods and {@link #main(String[])} translate
+ * between snapshots and the CSV files handled by {@link CSVUtil}.</p>
+ */
+public final class BinarySnapshot {
+    /** File magic, the ASCII bytes {@code BKSN}. */
+    public static final int MAGIC = 0x424B534E;
+    /** Current format version; version 2 stores prices as cents. */
+    public static final short VERSION = 2;
+
+    private static final byte KIND_INVENTORY = 1;
+    private static final byte KIND_SALES = 2;
+
+    /** Smallest encoded size of one inventory row: three empty strings, a price and a quantity. */
+    private static final int INVENTORY_ROW_BYTES = 3 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    /** Smallest encoded size of one sales dictionary entry: three empty strings and a stock level. */
+    private static final int DICTIONARY_ROW_BYTES = 3 * Integer.BYTES + Integer.BYTES;
+    /** Encoded size of one sales row: book id, quantity, price, epoch second and nano. */
+    private static final int SALES_ROW_BYTES = 3 * Integer.BYTES + 2 * Long.BYTES;
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+    private BinarySnapshot() {
+        // Utility class
+    }
+
+    /**
+     * Writes an inventory snapshot, replacing the file atomically.
+     *
+     * @param inventory the inventory to write
+     * @param path      the snapshot file
+     * @throws IOException if writing fails
+     */
+    public static void writeInventory(Inventory inventory, String path) throws IOException {
+        List<Book> books = inventory.getBooks();
+        write(path, KIND_INVENTORY, out -> {
+            out.writeInt(books.size());
+            for (Book b : books) {
+                writeString(out, b.getIsbn());
+                writeString(out, b.getTitle());
+                writeString(out, b.getAuthor());
+            }
+            for (Book b : books) {
+                out.writeLong(b.getPriceCents());
+            }
+            for (Book b : books) {
+                out.writeInt(b.getQuantity());
+            }
+        });
+    }
+
+    /**
+     * Loads an inventory snapshot through a memory-mapped channel.
+     *
+     * @param path the snapshot file
+     * @return the loaded inventory
+     * @throws IOException if the file cannot be read, is not an inventory snapshot
+     *                     or is truncated or corrupt
+     */
+    public static Inventory readInventory(String path) throws IOException {
+        ByteBuffer buf = map(path, KIND_INVENTORY);
+        int n;
+        String[][] text;
+        long[] prices;
+        int[] quantities;
+        try {
+            n = readCount(buf, path, INVENTORY_ROW_BYTES);
+            text = readStrings(buf, path, n);
+            prices = readLongs(buf, n);
+            quantities = readInts(buf, n);
+        } catch (BufferUnderflowException e) {
+            throw corrupt(path, "truncated");
+        }
+        checkFullyRead(buf, path);
+        Inventory inv = new Inventory();
+        for (int i = 0; i < n; i++) {
+            inv.addBook(Book.ofCents(text[i][0], text[i][1], text[i][2], prices[i], quantities[i]));
+        }
+        return inv;
+    }
+
+    /**
+     * Writes a sales snapshot, replacing the file atomically.
+     *
+     * @param sales the sales to write, in order
+     * @param path  the snapshot file
+     * @throws IOException if writing fails
+     */
+    public static void writeSales(List<Sale> sales, String path) throws IOException {
+        Map<BookKey, Integer> ids = new HashMap<>();
+        List<Book> dictionary = new ArrayList<>();
+        int[] bookIds = new int[sales.size()];
+        for (int i = 0; i < bookIds.length; i++) {
+            Book b = sales.get(i).getBook();
+            bookIds[i] = ids.computeIfAbsent(new BookKey(b), k -> {
+                dictionary.add(b);
+                return dictionary.size() - 1;
+            });
+        }
+        write(path, KIND_SALES, out -> {
+            out.writeInt(dictionary.size());
+            for (Book b : dictionary) {
+                writeString(out, b.getIsbn());
+                writeString(out, b.getTitle());
+                writeString(out, b.getAuthor());
+            }
+            for (Book b : dictionary) {
+                out.writeInt(b.getQuantity());
+            }
+            out.writeInt(sales.size());
+            for (int id : bookIds) {
+                out.writeInt(id);
+            }
+            for (Sale s : sales) {
+                out.writeInt(s.getQuantity());
+            }
+            for (Sale s : sales) {
+                out.writeLong(s.getPriceCents());
+            }
+            for (Sale s : sales) {
+                out.writeLong(s.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (Sale s : sales) {
+                out.writeInt(s.getTimestamp().getNano());
+            }
+        });
+    }
+
+    /**
+     * Loads a sales snapshot through a memory-mapped channel.
+     *
+     * <p>All sales of the same dictionary entry share one {@link Book} instance,
+     * priced at the entry's first sale; each {@link Sale} carries its own price.</p>
+     *
+     * @param path the snapshot file
+     * @return the loaded sales, in the order they were written
+     * @throws IOException if the file cannot be read, is not a sales snapshot
+     *                     or is truncated or corrupt
+     */
+    public static List<Sale> readSales(String path) throws IOException {
+        return readSalesTable(path).toSales();
+    }
+
+    /**
+     * Loads a sales snapshot as decoded columns, without creating a
+     * {@link Sale} or {@link LocalDateTime} per row.
+     *
+     * @param path the snapshot file
+     * @return the loaded columns, rows in the order they were written
+     * @throws IOException if the file cannot be read, is not a sales snapshot
+     *                     or is truncated or corrupt
+     */
+    public static SalesTable readSalesTable(String path) throws IOException {
+        ByteBuffer buf = map(path, KIND_SALES);
+        int books;
+        String[][] text;
+        int[] stock;
+        int n;
+        int[] bookIds;
+        int[] quantities;
+        long[] prices;
+        long[] seconds;
+        int[] nanos;
+        try {
+            books = readCount(buf, path, DICTIONARY_ROW_BYTES);
+            text = readStrings(buf, path, books);
+            stock = readInts(buf, books);
+            n = readCount(buf, path, SALES_ROW_BYTES);
+            bookIds = readInts(buf, n);
+            quantities = readInts(buf, n);
+            prices = readLongs(buf, n);
+            seconds = readLongs(buf, n);
+            nanos = readInts(buf, n);
+        } catch (BufferUnderflowException e) {
+            throw corrupt(path, "truncated");
+        }
+        checkFullyRead(buf, path);
+        Book[] dictionary = new Book[books];
+        for (int i = 0; i < n; i++) {
+            int id = bookIds[i];
+            if (id < 0 || id >= books) {
+                throw corrupt(path, "row " + i + " refers to book " + id + " of " + books);
+            }
+            if (seconds[i] < MIN_EPOCH_SECOND || seconds[i] > MAX_EPOCH_SECOND
+                    || nanos[i] < 0 || nanos[i] >= NANOS_PER_SECOND) {
+                throw corrupt(path, "row " + i + " has an invalid timestamp");
+            }
+            if (dictionary[id] == null) {
+                dictionary[id] = Book.ofCents(text[id][0], text[id][1], text[id][2], prices[i], stock[id]);
+            }
+        }
+        for (int id = 0; id < books; id++) {
+            if (dictionary[id] == null) {
+                dictionary[id] = Book.ofCents(text[id][0], text[id][1], text[id][2], 0, stock[id]);
+            }
+        }
+        return new SalesTable(dictionary, bookIds, quantities, prices, seconds, nanos);
+    }
+
+    /**
+     * Converts an inventory CSV file into a snapshot.
+     *
+     * @param csvPath      the inventory CSV to read
+     * @param snapshotPath the snapshot to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void convertInventoryCsv(String csvPath, String snapshotPath) throws IOException {
+        writeInventory(CSVUtil.readInventoryFromCsvParallel(csvPath), snapshotPath);
+    }
+
+    /**
+     * Converts an inventory snapshot back into a CSV file.
+     *
+     * @param snapshotPath the snapshot to read
+     * @param csvPath      the inventory CSV to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void convertInventorySnapshot(String snapshotPath, String csvPath) throws IOException {
+        CSVUtil.writeInventoryToCsv(readInventory(snapshotPath), csvPath);
+    }
+
+    /**
+     * Converts a sales CSV file into a snapshot.
+     *
+     * @param csvPath      the sales CSV to read
+     * @param snapshotPath the snapshot to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void convertSalesCsv(String csvPath, String snapshotPath) throws IOException {
+        writeSales(CSVUtil.readSalesFromCsvParallel(csvPath), snapshotPath);
+    }
+
+    /**
+     * Converts a sales snapshot back into a CSV file.
+     *
+     * @param snapshotPath the snapshot to read
+     * @param csvPath      the sales CSV to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void convertSalesSnapshot(String snapshotPath, String csvPath) throws IOException {
+        CSVUtil.writeSalesToCsv(readSales(snapshotPath), csvPath);
+    }
+
+    /**
+     * Command-line converter.
+     *
+     * <p>Usage: {@code BinarySnapshot (to-binary|to-csv) (inventory|sales) <input> <output>}</p>
+     *
+     * @param args direction, data kind, input path and output path
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: BinarySnapshot (to-binary|to-csv) (inventory|sales) <input> <output>");
+            System.exit(2);
+        }
+        String mode = args[0] + " " + args[1];
+        switch (mode) {
+            case "to-binary inventory":
+                convertInventoryCsv(args[2], args[3]);
+                break;
+            case "to-binary sales":
+                convertSalesCsv(args[2], args[3]);
+                break;
+            case "to-csv inventory":
+                convertInventorySnapshot(args[2], args[3]);
+                break;
+            case "to-csv sales":
+                convertSalesSnapshot(args[2], args[3]);
+                break;
+            default:
+                System.err.println("Unknown conversion: " + mode);
+                System.exit(2);
+        }
+    }
+
+    /** Writes the header and body through {@link AtomicFiles}, so a failed write keeps the old file. */
+    private static void write(String path, byte kind, Body body) throws IOException {
+        AtomicFiles.write(Paths.get(path), ch -> {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(ch), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeByte(kind);
+            body.writeTo(out);
+            out.flush();
+        });
+    }
+
+    /** Writes the part of a snapshot after its header. */
+    @FunctionalInterface
+    private interface Body {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /** Maps the whole file and checks its header; the returned buffer is positioned after it. */
+    private static ByteBuffer map(String path, byte kind) throws IOException {
+        try (FileChannel ch = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + size + " bytes");
+            }
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < 7 || buf.getInt() != MAGIC) {
+                throw new IOException("Not a bookstore snapshot: " + path);
+            }
+            short version = buf.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            byte actual = buf.get();
+            if (actual != kind) {
+                throw new IOException("Expected a " + (kind == KIND_SALES ? "sales" : "inventory")
+                        + " snapshot: " + path);
+            }
+            return buf;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a row count and checks that the rest of the file can hold that
+     * many rows of at least {@code rowBytes} each, so a corrupt count fails
+     * here instead of allocating huge arrays.
+     */
+    private static int readCount(ByteBuffer buf, String path, int rowBytes) throws IOException {
+        int n = buf.getInt();
+        if (n < 0 || (long) n * rowBytes > buf.remaining()) {
+            throw corrupt(path, "row count " + n + " does not fit in " + buf.remaining() + " bytes");
+        }
+        return n;
+    }
+
+    private static void checkFullyRead(ByteBuffer buf, String path) throws IOException {
+        if (buf.hasRemaining()) {
+            throw corrupt(path, buf.remaining() + " trailing bytes");
+        }
+    }
+
+    private static IOException corrupt(String path, String detail) {
+        return new IOException("Corrupt snapshot " + path + ": " + detail);
+    }
+
+    private static String[][] readStrings(ByteBuffer buf, String path, int rows) throws IOException {
+        String[][] text = new String[rows][3];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < rows; i++) {
+            for (int f = 0; f < 3; f++) {
+                int len = buf.getInt();
+                if (len == -1) {
+                    continue;
+                }
+                if (len < 0 || len > buf.remaining()) {
+                    throw corrupt(path, "string length " + len + " at byte " + (buf.position() - Integer.BYTES));
+                }
+                if (len > scratch.length) {
+                    scratch = new byte[Math.max(len, scratch.length * 2)];
+                }
+                buf.get(scratch, 0, len);
+                text[i][f] = new String(scratch, 0, len, StandardCharsets.UTF_8);
+            }
+        }
+        return text;
+    }
+
+    private static long[] readLongs(ByteBuffer buf, int n) {
+        long[] values = new long[n];
+        buf.asLongBuffer().get(values);
+        buf.position(buf.position() + n * Long.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer buf, int n) {
+        int[] values = new int[n];
+        buf.asIntBuffer().get(values);
+        buf.position(buf.position() + n * Integer.BYTES);
+        return values;
+    }
+
+    /**
+     * A sales snapshot decoded into its columns.
+     *
+     * <p>Row {@code i} sold {@code quantities()[i]} copies of
+     * {@code books()[bookIds()[i]]} at {@code priceCents()[i]} at UTC
+     * {@code epochSeconds()[i]} plus {@code nanos()[i]}. The accessors return
+     * the arrays themselves, not copies, so the caller can adopt them; each
+     * row array holds exactly {@link #size()} entries. Book ids and
+     * timestamps have been validated. Dictionary books are priced at their
+     * first sale.</p>
+     */
+    public static final class SalesTable {
+        private final Book[] books;
+        private final int[] bookIds;
+        private final int[] quantities;
+        private final long[] priceCents;
+        private final long[] epochSeconds;
+        private final int[] nanos;
+
+        private SalesTable(Book[] books, int[] bookIds, int[] quantities, long[] priceCents,
+                           long[] epochSeconds, int[] nanos) {
+            this.books = books;
+            this.bookIds = bookIds;
+            this.quantities = quantities;
+            this.priceCents = priceCents;
+            this.epochSeconds = epochSeconds;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the number of rows.
+         *
+         * @return the number of rows
+         */
+        public int size() {
+            return bookIds.length;
+        }
+
+        /**
+         * Returns the book dictionary, indexed by book id.
+         *
+         * @return the book dictionary, indexed by book id
+         */
+        public Book[] books() {
+            return books;
+        }
+
+        /**
+         * Returns the book id of every row.
+         *
+         * @return the book id of every row
+         */
+        public int[] bookIds() {
+            return bookIds;
+        }
+
+        /**
+         * Returns the quantity of every row.
+         *
+         * @return the quantity of every row
+         */
+        public int[] quantities() {
+            return quantities;
+        }
+
+        /**
+         * Returns the unit price in cents of every row.
+         *
+         * @return the unit price in cents of every row
+         */
+        public long[] priceCents() {
+            return priceCents;
+        }
+
+        /**
+         * Returns the UTC epoch second of every row.
+         *
+         * @return the UTC epoch second of every row
+         */
+        public long[] epochSeconds() {
+            return epochSeconds;
+        }
+
+        /**
+         * Returns the nanosecond of every row.
+         *
+         * @return the nanosecond of every row
+         */
+        public int[] nanos() {
+            return nanos;
+        }
+
+        private List<Sale> toSales() {
+            List<Sale> sales = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++) {
+                LocalDateTime ts = LocalDateTime.ofEpochSecond(epochSeconds[i], nanos[i], ZoneOffset.UTC);
+                sales.add(new Sale(books[bookIds[i]], quantities[i], ts, priceCents[i]));
+            }
+            return sales;
+        }
+    }
+
+    /** Value identity of a book as stored in the sales dictionary; prices are per row. */
+    private static final class BookKey {
+        private final String isbn;
+        private final String title;
+        private final String author;
+
+        private BookKey(Book b) {
+            this.isbn = b.getIsbn();
+            this.title = b.getTitle();
+            this.author = b.getAuthor();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BookKey)) {
+                return false;
+            }
+            BookKey k = (BookKey) o;
+            return Objects.equals(isbn, k.isbn) && Objects.equals(title, k.title)
+                    && Objects.equals(author, k.author);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(isbn, title, author);
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class CLI {
     /**
      * Displays the main menu options to the user and returns the selected choice.
      *
-     * @return the integer menu choice between 1 and 7 inclusive
+     * @return the integer menu choice between 1 and 8 inclusive
      */
     public static int showMainMenu() {
         printMessage("\n=== Bookstore Inventory Manager ===");
@@ -33,8 +33,9 @@ public class CLI {
         printMessage("4) Remove a book");
         printMessage("5) Record a sale");
         printMessage("6) Generate report");
-        printMessage("7) Exit");
-        return promptIntInRange("Enter your choice (1-7):", 1, 7);
+        printMessage("7) Search books");
+        printMessage("8) Exit");
+        return promptIntInRange("Enter your choice (1-8):", 1, 8);
     }
 
     /**
@@ -54,6 +55,23 @@ public class CLI {
         return isbn;
     }
 
+    /**
+     * Prompts the user to enter search words until a non-empty value is provided.
+     *
+     * @return the entered query, guaranteed non-empty
+     */
+    public static String promptSearchQuery() {
+        String query;
+        do {
+            printMessage("Enter title or author words:");
+            query = scanner.nextLine().trim();
+            if (query.isEmpty()) {
+                printError("Search cannot be empty. Please try again.");
+            }
+        } while (query.isEmpty());
+        return query;
+    }
+
     /**
      * Prompts the user to enter a book title until a non-empty value is provided.
      *
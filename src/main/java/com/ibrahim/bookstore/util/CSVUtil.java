@@ -8,15 +8,26 @@
  */
 package com.ibrahim.bookstore.util;
 
+import com.ibrahim.bookstore.metrics.CsvWriteEvent;
+import com.ibrahim.bookstore.metrics.Metrics;
 import com.ibrahim.bookstore.model.Book;
 import com.ibrahim.bookstore.model.Inventory;
 import com.ibrahim.bookstore.model.Sale;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility class for reading and writing Inventory and Sales data to CSV files.
@@ -26,6 +37,18 @@ import java.util.List;
  * and sales CSVs with header:
  * <code>isbn,title,author,price,quantity,timestamp</code>.
  * </p>
+ * <p>
+ * Rows are decoded with a {@link CsvTokenizer}, so text fields may be quoted
+ * as in RFC 4180 (e.g. a title containing commas). Rows with the wrong number
+ * of fields or an undecodable number or timestamp are skipped as malformed;
+ * the {@link CsvStats} overloads report how many.
+ * </p>
+ * <p>
+ * Sales read into a list share one {@link Book} per ISBN: the first row of
+ * each ISBN creates it, or a catalog such as the live inventory supplies it,
+ * and later rows of that ISBN skip decoding title and author. Each
+ * {@link Sale} still carries the price of its own row.
+ * </p>
  */
 public class CSVUtil {
 
@@ -36,7 +59,8 @@ public class CSVUtil {
         // Utility class
     }
     private static final String INVENTORY_HEADER = "isbn,title,author,price,quantity";
-    private static final String SALES_HEADER = "isbn,title,author,price,quantity,timestamp";
+    /** Header line of sales CSV files. */
+    public static final String SALES_HEADER = "isbn,title,author,price,quantity,timestamp";
 
     /**
      * Reads inventory data from a CSV file and returns a populated Inventory object.
@@ -46,44 +70,145 @@ public class CSVUtil {
      * @throws IOException if there is an I/O error or invalid header
      */
     public static Inventory readInventoryFromCsv(String path) throws IOException {
+        return readInventoryFromCsv(path, new CsvStats());
+    }
+
+    /**
+     * Reads inventory data from a CSV file, recording throughput figures.
+     *
+     * @param path  the path to the CSV file containing inventory data
+     * @param stats receives row counts and timing for this read
+     * @return an Inventory containing all Book entries from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static Inventory readInventoryFromCsv(String path, CsvStats stats) throws IOException {
+        stats.begin(path);
+        long start = System.nanoTime();
         Inventory inv = new Inventory();
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+        CsvTokenizer tok = new CsvTokenizer();
+        long rows = 0;
+        long malformed = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(path, StandardCharsets.UTF_8))) {
             String header = br.readLine();
             if (header == null || !header.equals(INVENTORY_HEADER)) {
                 throw new IOException("Invalid inventory CSV header: " + header);
             }
             String line;
             while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",", -1);
-                if (parts.length != 5) {
-                    continue; // skip malformed lines
+                Book book = parseBook(tok.reset(line));
+                if (book == null) {
+                    malformed++;
+                } else if (addIfAbsent(inv, book)) {
+                    rows++;
                 }
-                String isbn = parts[0];
-                String title = parts[1];
-                String author = parts[2];
-                double price = Double.parseDouble(parts[3]);
-                int qty = Integer.parseInt(parts[4]);
-                inv.addBook(new Book(isbn, title, author, price, qty));
             }
         }
+        stats.record(rows, malformed, Files.size(Paths.get(path)), System.nanoTime() - start);
         return inv;
     }
 
+    /**
+     * Reads inventory data from a CSV file using the parallel, memory-mapped importer.
+     *
+     * <p>The file is split into line-aligned chunks that are parsed concurrently
+     * on the common fork-join pool and merged in file order, so the result is the
+     * same as {@link #readInventoryFromCsv(String)} for UTF-8 files.</p>
+     *
+     * @param path the path to the CSV file containing inventory data
+     * @return an Inventory containing all Book entries from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static Inventory readInventoryFromCsvParallel(String path) throws IOException {
+        return readInventoryFromCsvParallel(path, new CsvStats());
+    }
+
+    /**
+     * Reads inventory data with the parallel importer, recording throughput figures.
+     *
+     * @param path  the path to the CSV file containing inventory data
+     * @param stats receives row counts and timing for this read
+     * @return an Inventory containing all Book entries from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static Inventory readInventoryFromCsvParallel(String path, CsvStats stats) throws IOException {
+        stats.begin(path);
+        long start = System.nanoTime();
+        List<Book> books;
+        CsvStats parsed = new CsvStats();
+        try {
+            books = MappedCsvReader.read(path, INVENTORY_HEADER, "inventory", CSVUtil::parseBook, parsed);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Inventory inv = new Inventory();
+        long rows = 0;
+        for (Book book : books) {
+            if (addIfAbsent(inv, book)) {
+                rows++;
+            }
+        }
+        stats.record(rows, parsed.getMalformed(), parsed.getBytes(), System.nanoTime() - start);
+        return inv;
+    }
+
+    /**
+     * Parses one inventory CSV row.
+     *
+     * @param tok a tokenizer positioned at the start of the row
+     * @return the parsed Book, or {@code null} if the row is malformed
+     */
+    private static Book parseBook(CsvTokenizer tok) {
+        try {
+            String isbn = tok.nextString();
+            String title = tok.nextString();
+            String author = tok.nextString();
+            long price = tok.nextCents();
+            int qty = tok.nextInt();
+            if (tok.hasMoreFields()) {
+                return null; // too many fields
+            }
+            return Book.ofCents(isbn, title, author, price, qty);
+        } catch (IllegalArgumentException e) {
+            return null; // skip malformed lines
+        }
+    }
+
+    private static boolean addIfAbsent(Inventory inv, Book book) {
+        if (inv.findByIsbn(book.getIsbn()) != null) {
+            return false; // skip duplicate ISBNs, first occurrence wins
+        }
+        inv.addBook(book);
+        return true;
+    }
+
     /**
      * Writes the given Inventory to a CSV file.
      *
+     * <p>The file is replaced atomically through {@link AtomicFiles}: if
+     * writing fails, the previous file is left intact.</p>
+     *
      * @param inventory the Inventory to write
      * @param path      the file path for the output CSV
      * @throws IOException if there is an I/O error during writing
      */
     public static void writeInventoryToCsv(Inventory inventory, String path) throws IOException {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(path))) {
-            pw.println(INVENTORY_HEADER);
-            for (Book b : inventory.getBooks()) {
-                pw.printf("%s,%s,%s,%.2f,%d%n",
-                        b.getIsbn(), b.getTitle(), b.getAuthor(), b.getPrice(), b.getQuantity());
+        long start = Metrics.start();
+        CsvWriteEvent event = CsvWriteEvent.start(path);
+        List<Book> books = inventory.getBooks();
+        long[] bytes = new long[1];
+        AtomicFiles.write(Paths.get(path), ch -> {
+            CsvWriter w = new CsvWriter(ch);
+            w.line(INVENTORY_HEADER);
+            for (Book b : books) {
+                w.text(b.getIsbn()).text(b.getTitle()).text(b.getAuthor())
+                        .cents(b.getPriceCents()).integer(b.getQuantity()).endRow();
             }
-        }
+            w.flush();
+            bytes[0] = w.getBytesWritten();
+        });
+        event.finish(books.size(), bytes[0]);
+        Metrics.CSV_WRITE.stop(start);
+        Metrics.CSV_ROWS_WRITTEN.add(books.size());
     }
 
     /**
@@ -94,53 +219,267 @@ public class CSVUtil {
      * @throws IOException if there is an I/O error or invalid header
      */
     public static List<Sale> readSalesFromCsv(String path) throws IOException {
-        List<Sale> sales = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+        return readSalesFromCsv(path, new CsvStats());
+    }
+
+    /**
+     * Reads sales data from a CSV file, recording throughput figures.
+     *
+     * @param path  the path to the CSV file containing sales data
+     * @param stats receives row counts and timing for this read
+     * @return a List of Sale records from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static List<Sale> readSalesFromCsv(String path, CsvStats stats) throws IOException {
+        return readSales(path, stats, new BookPool(null));
+    }
+
+    /**
+     * Reads sales data from a CSV file, linking each row to a catalog book.
+     *
+     * <p>Rows whose ISBN the catalog knows, for example
+     * {@code inventory::findByIsbn}, reference that very instance; other
+     * ISBNs share one pooled instance each.</p>
+     *
+     * @param path    the path to the CSV file containing sales data
+     * @param catalog returns the canonical book for an ISBN, or {@code null} if unknown
+     * @return a List of Sale records from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static List<Sale> readSalesFromCsv(String path, Function<String, Book> catalog) throws IOException {
+        return readSales(path, new CsvStats(), new BookPool(catalog));
+    }
+
+    private static List<Sale> readSales(String path, CsvStats stats, BookPool pool) throws IOException {
+        try (Stream<Sale> sales = streamSales(path, stats, pool)) {
+            return sales.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads sales data from a CSV file using the parallel, memory-mapped importer.
+     *
+     * <p>Produces the same records in the same order as
+     * {@link #readSalesFromCsv(String)} for UTF-8 files.</p>
+     *
+     * @param path the path to the CSV file containing sales data
+     * @return a List of Sale records from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static List<Sale> readSalesFromCsvParallel(String path) throws IOException {
+        return readSalesFromCsvParallel(path, new CsvStats());
+    }
+
+    /**
+     * Reads sales data with the parallel importer, recording throughput figures.
+     *
+     * @param path  the path to the CSV file containing sales data
+     * @param stats receives row counts and timing for this read
+     * @return a List of Sale records from the file
+     * @throws IOException if there is an I/O error or invalid header
+     */
+    public static List<Sale> readSalesFromCsvParallel(String path, CsvStats stats) throws IOException {
+        return readSalesParallel(path, stats, new BookPool(null));
+    }
+
+    /**
+     * Reads sales data with the parallel importer, linking each row to a catalog book.
+     *
+     * @param path    the path to the CSV file containing sales data
+     * @param catalog returns the canonical book for an ISBN, or {@code null} if
+     *                unknown; called from several threads
+     * @return a List of Sale records from the file
+     * @throws IOException if there is an I/O error or invalid header
+     * @see #readSalesFromCsv(String, Function)
+     */
+    public static List<Sale> readSalesFromCsvParallel(String path, Function<String, Book> catalog)
+            throws IOException {
+        return readSalesParallel(path, new CsvStats(), new BookPool(catalog));
+    }
+
+    private static List<Sale> readSalesParallel(String path, CsvStats stats, BookPool pool) throws IOException {
+        stats.begin(path);
+        try {
+            return MappedCsvReader.read(path, SALES_HEADER, "sales", tok -> parseSale(tok, pool), stats);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Opens a sales CSV file as a lazy stream of Sale records.
+     *
+     * <p>Rows are read and parsed only as the stream is consumed, so a whole
+     * history can be processed in a single pass with constant memory. The
+     * stream holds the file open and must be closed, preferably with
+     * try-with-resources. Malformed rows are skipped exactly as in
+     * {@link #readSalesFromCsv(String)}.</p>
+     *
+     * @param path the path to the CSV file containing sales data
+     * @return a sequential {@link Stream} of Sale records in file order
+     * @throws IOException if the file cannot be opened or has an invalid header
+     */
+    public static Stream<Sale> streamSalesFromCsv(String path) throws IOException {
+        return streamSalesFromCsv(path, new CsvStats());
+    }
+
+    /**
+     * Opens a sales CSV file as a lazy stream, recording throughput figures
+     * into {@code stats} when the stream is closed.
+     *
+     * @param path  the path to the CSV file containing sales data
+     * @param stats receives row counts and timing once the stream is closed
+     * @return a sequential {@link Stream} of Sale records in file order
+     * @throws IOException if the file cannot be opened or has an invalid header
+     */
+    public static Stream<Sale> streamSalesFromCsv(String path, CsvStats stats) throws IOException {
+        return streamSales(path, stats, null);
+    }
+
+    /** Streams sales, sharing books through {@code pool} if it is not {@code null}. */
+    private static Stream<Sale> streamSales(String path, CsvStats stats, BookPool pool) throws IOException {
+        stats.begin(path);
+        long start = System.nanoTime();
+        long bytes = Files.size(Paths.get(path));
+        BufferedReader br = new BufferedReader(new FileReader(path, StandardCharsets.UTF_8));
+        try {
             String header = br.readLine();
             if (header == null || !header.equals(SALES_HEADER)) {
                 throw new IOException("Invalid sales CSV header: " + header);
             }
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",", -1);
-                if (parts.length != 6) {
-                    continue; // skip malformed lines
-                }
-                String isbn = parts[0];
-                String title = parts[1];
-                String author = parts[2];
-                double price = Double.parseDouble(parts[3]);
-                int qty = Integer.parseInt(parts[4]);
-                LocalDateTime timestamp;
-                try {
-                    timestamp = LocalDateTime.parse(parts[5]);
-                } catch (DateTimeParseException e) {
-                    // skip entries with invalid timestamp
-                    continue;
+        } catch (IOException e) {
+            br.close();
+            throw e;
+        }
+        long[] counts = new long[2]; // rows, malformed
+        return br.lines()
+                .map(line -> {
+                    Sale sale = parseSale(new CsvTokenizer().reset(line), pool);
+                    counts[sale == null ? 1 : 0]++;
+                    return sale;
+                })
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    stats.record(counts[0], counts[1], bytes, System.nanoTime() - start);
+                    try {
+                        br.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Parses one sales CSV row.
+     *
+     * @param tok  a tokenizer positioned at the start of the row
+     * @param pool shared books by ISBN, or {@code null} to create one per row
+     * @return the parsed Sale, or {@code null} if the row is malformed
+     */
+    private static Sale parseSale(CsvTokenizer tok, BookPool pool) {
+        try {
+            String isbn = tok.nextString();
+            Book book = pool == null ? null : pool.find(isbn);
+            String title = null;
+            String author = null;
+            if (book == null) {
+                title = tok.nextString();
+                author = tok.nextString();
+            } else {
+                tok.skipField();
+                tok.skipField();
+            }
+            long price = tok.nextCents();
+            int qty = tok.nextInt();
+            LocalDateTime ts = tok.nextTimestamp();
+            if (tok.hasMoreFields()) {
+                return null;
+            }
+            if (book == null) {
+                book = Book.ofCents(isbn, title, author, price, qty);
+                if (pool != null) {
+                    book = pool.intern(book);
                 }
-                Book book = new Book(isbn, title, author, price, qty);
-                sales.add(new Sale(book, qty, timestamp));
             }
+            return new Sale(book, qty, ts, price);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return null; // skip malformed lines and entries with invalid timestamp
         }
-        return sales;
     }
 
     /**
      * Writes the given list of Sale records to a CSV file.
      *
+     * <p>The {@code quantity} column holds the number of copies sold, which is
+     * what {@link #readSalesFromCsv(String)} reads back. The file is replaced
+     * atomically through {@link AtomicFiles}: if writing fails, the previous
+     * file is left intact.</p>
+     *
      * @param sales the list of Sale records to write
      * @param path  the file path for the output CSV
      * @throws IOException if there is an I/O error during writing
      */
     public static void writeSalesToCsv(List<Sale> sales, String path) throws IOException {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(path))) {
-            pw.println(SALES_HEADER);
+        long start = Metrics.start();
+        CsvWriteEvent event = CsvWriteEvent.start(path);
+        long[] bytes = new long[1];
+        AtomicFiles.write(Paths.get(path), ch -> {
+            CsvWriter w = new CsvWriter(ch);
+            w.line(SALES_HEADER);
             for (Sale s : sales) {
-                Book b = s.getBook();
-                pw.printf("%s,%s,%s,%.2f,%d,%s%n",
-                        b.getIsbn(), b.getTitle(), b.getAuthor(), b.getPrice(), b.getQuantity(),
-                        s.getTimestamp().toString());
+                writeSaleRow(w, s);
             }
+            w.flush();
+            bytes[0] = w.getBytesWritten();
+        });
+        event.finish(sales.size(), bytes[0]);
+        Metrics.CSV_WRITE.stop(start);
+        Metrics.CSV_ROWS_WRITTEN.add(sales.size());
+    }
+
+    /**
+     * Appends one sale as a row in the sales CSV layout.
+     *
+     * @param w    the writer to append to
+     * @param sale the sale to encode
+     * @throws IOException if the writer fails to flush
+     */
+    public static void writeSaleRow(CsvWriter w, Sale sale) throws IOException {
+        Book b = sale.getBook();
+        w.text(b.getIsbn()).text(b.getTitle()).text(b.getAuthor())
+                .cents(sale.getPriceCents()).integer(sale.getQuantity()).timestamp(sale.getTimestamp())
+                .endRow();
+    }
+
+    /**
+     * Canonical books by ISBN for one read; safe for the parallel importer.
+     */
+    private static final class BookPool {
+        private final Function<String, Book> catalog;
+        private final Map<String, Book> books = new ConcurrentHashMap<>();
+
+        private BookPool(Function<String, Book> catalog) {
+            this.catalog = catalog;
+        }
+
+        /** Returns the shared book for an ISBN, or {@code null} if none exists yet. */
+        private Book find(String isbn) {
+            Book book = books.get(isbn);
+            if (book == null && catalog != null) {
+                book = catalog.apply(isbn);
+                if (book != null) {
+                    books.putIfAbsent(isbn, book);
+                }
+            }
+            return book;
+        }
+
+        /** Registers a book decoded from a row; returns the winner if another thread got there first. */
+        private Book intern(Book book) {
+            Book existing = books.putIfAbsent(book.getIsbn(), book);
+            return existing != null ? existing : book;
         }
     }
 }
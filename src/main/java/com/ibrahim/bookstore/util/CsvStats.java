@@ -0,0 +1,111 @@
+package com.ibrahim.bookstore.util;
+
+import com.ibrahim.bookstore.metrics.CsvReadEvent;
+import com.ibrahim.bookstore.metrics.Metrics;
+
+import java.util.Locale;
+
+/**
+ * Throughput figures for one CSV read, filled in by {@link CSVUtil}.
+ *
+ * <p>Pass a fresh instance to one of the {@code CSVUtil} read overloads and
+ * inspect it afterwards, e.g. {@code System.out.println(stats)} prints a
+ * summary line including rows per second.</p>
+ */
+public class CsvStats {
+    private long rows;
+    private long malformed;
+    private long bytes;
+    private long elapsedNanos;
+    private CsvReadEvent event;
+
+    /**
+     * Returns the number of rows successfully parsed.
+     *
+     * @return the parsed row count
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of data rows skipped as malformed.
+     *
+     * @return the skipped row count
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Returns the size of the file that was read.
+     *
+     * @return the file size in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the wall-clock time spent reading and parsing.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the parse throughput.
+     *
+     * @return parsed rows per second, or 0 if no time was measured
+     */
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Marks the start of a read of {@code path} and begins its JFR
+     * {@link CsvReadEvent}. Only reads started this way are reported to JFR
+     * and {@link Metrics}, so helper reads nested inside a public read are
+     * not counted twice.
+     *
+     * @param path the file about to be read
+     */
+    void begin(String path) {
+        event = CsvReadEvent.start(path);
+    }
+
+    /**
+     * Stores the figures of a completed read and, if it was started with
+     * {@link #begin}, commits its event and adds it to the CSV metrics.
+     *
+     * @param rows         rows parsed
+     * @param malformed    rows skipped
+     * @param bytes        file size
+     * @param elapsedNanos elapsed time
+     */
+    void record(long rows, long malformed, long bytes, long elapsedNanos) {
+        this.rows = rows;
+        this.malformed = malformed;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        if (event == null) {
+            return;
+        }
+        event.finish(rows, malformed, bytes);
+        event = null;
+        if (Metrics.ENABLED) {
+            Metrics.CSV_READ.record(elapsedNanos);
+            Metrics.CSV_ROWS_READ.add(rows);
+            Metrics.CSV_ROWS_MALFORMED.add(malformed);
+            Metrics.CSV_BYTES_READ.add(bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d rows (%d malformed, %d bytes) in %.3f s, %.0f rows/s",
+                rows, malformed, bytes, elapsedNanos / 1e9, rowsPerSecond());
+    }
+}
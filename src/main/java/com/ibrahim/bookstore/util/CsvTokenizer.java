@@ -0,0 +1,278 @@
+package com.ibrahim.bookstore.util;
+
+import com.ibrahim.bookstore.model.Money;
+import java.time.LocalDateTime;
+
+/**
+ * Single-pass, cursor-based tokenizer for one CSV record.
+ *
+ * <p>The tokenizer walks a {@link CharSequence} once, from left to right,
+ * handing out fields in order through typed {@code next...} methods. Numbers
+ * and timestamps are decoded in place, without creating an intermediate
+ * {@code String} or array; only text fields allocate. Fields follow RFC 4180:
+ * a field may be wrapped in double quotes, in which case it may contain
+ * commas and doubled quotes ({@code ""}). Line breaks inside quoted fields are
+ * not supported, since records are split on newlines before tokenizing.</p>
+ *
+ * <p>Every {@code next...} method throws {@link IllegalArgumentException}
+ * (or its subclass {@link NumberFormatException}) when the field is missing
+ * or cannot be decoded; callers treat that as a malformed row. An instance
+ * may be reused for many records via {@link #reset}, but is not thread-safe.</p>
+ */
+public final class CsvTokenizer {
+
+    private CharSequence text;
+    private int pos;
+    private int end;
+    private boolean exhausted = true;
+    private StringBuilder unquoted;
+
+    /**
+     * Positions the tokenizer at the start of a record.
+     *
+     * @param record the full record text, without its line terminator
+     * @return this tokenizer
+     */
+    public CsvTokenizer reset(CharSequence record) {
+        return reset(record, 0, record.length());
+    }
+
+    /**
+     * Positions the tokenizer at a record held in part of a larger buffer.
+     *
+     * @param buffer the text containing the record
+     * @param start  index of the record’s first character
+     * @param end    index just past the record’s last character
+     * @return this tokenizer
+     */
+    public CsvTokenizer reset(CharSequence buffer, int start, int end) {
+        this.text = buffer;
+        this.pos = start;
+        this.end = end;
+        this.exhausted = false;
+        return this;
+    }
+
+    /**
+     * Returns whether another field remains in the record.
+     *
+     * @return {@code true} if a {@code next...} call can succeed
+     */
+    public boolean hasMoreFields() {
+        return !exhausted;
+    }
+
+    /**
+     * Returns the next field as a string, removing RFC 4180 quoting.
+     *
+     * @return the field value (possibly empty)
+     * @throws IllegalArgumentException if no field remains or quoting is invalid
+     */
+    public String nextString() {
+        requireField();
+        if (pos < end && text.charAt(pos) == '"') {
+            return nextQuoted();
+        }
+        int fieldEnd = fieldEnd();
+        String s = text.subSequence(pos, fieldEnd).toString();
+        advancePast(fieldEnd);
+        return s;
+    }
+
+    /**
+     * Skips the next field without decoding it.
+     *
+     * @throws IllegalArgumentException if no field remains or quoting is invalid
+     */
+    public void skipField() {
+        requireField();
+        if (pos < end && text.charAt(pos) == '"') {
+            nextQuoted();
+            return;
+        }
+        advancePast(fieldEnd());
+    }
+
+    /**
+     * Returns the next field as an {@code int}.
+     *
+     * @return the decoded value
+     * @throws NumberFormatException if the field is missing or not a decimal integer
+     */
+    public int nextInt() {
+        requireField();
+        int fieldEnd = fieldEnd();
+        int i = pos;
+        boolean negative = false;
+        if (i < fieldEnd && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        if (i == fieldEnd) {
+            throw numberError(fieldEnd);
+        }
+        long value = 0;
+        for (; i < fieldEnd; i++) {
+            int d = text.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                throw numberError(fieldEnd);
+            }
+            value = value * 10 + d;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw numberError(fieldEnd);
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw numberError(fieldEnd);
+        }
+        advancePast(fieldEnd);
+        return (int) value;
+    }
+
+    /**
+     * Returns the next field as a money amount in cents.
+     *
+     * @return the decoded amount, rounded half-up to the cent
+     * @throws NumberFormatException if the field is missing or not a decimal number
+     * @see Money#parse(CharSequence, int, int)
+     */
+    public long nextCents() {
+        requireField();
+        int fieldEnd = fieldEnd();
+        long cents = Money.parse(text, pos, fieldEnd);
+        advancePast(fieldEnd);
+        return cents;
+    }
+
+    /**
+     * Returns the next field as a {@link LocalDateTime} in ISO-8601 local form.
+     *
+     * <p>The fixed layouts written by {@link LocalDateTime#toString()},
+     * {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]}, are decoded digit by digit;
+     * anything else falls back to {@link LocalDateTime#parse(CharSequence)}.</p>
+     *
+     * @return the decoded timestamp
+     * @throws java.time.DateTimeException if the field is not a valid timestamp
+     * @throws IllegalArgumentException    if no field remains
+     */
+    public LocalDateTime nextTimestamp() {
+        requireField();
+        int fieldEnd = fieldEnd();
+        LocalDateTime ts = fastTimestamp(pos, fieldEnd);
+        if (ts == null) {
+            ts = LocalDateTime.parse(text.subSequence(pos, fieldEnd));
+        }
+        advancePast(fieldEnd);
+        return ts;
+    }
+
+    private LocalDateTime fastTimestamp(int s, int e) {
+        int len = e - s;
+        if (len < 16 || text.charAt(s + 4) != '-' || text.charAt(s + 7) != '-'
+                || text.charAt(s + 10) != 'T' || text.charAt(s + 13) != ':') {
+            return null;
+        }
+        int year = digits(s, 4);
+        int month = digits(s + 5, 2);
+        int day = digits(s + 8, 2);
+        int hour = digits(s + 11, 2);
+        int minute = digits(s + 14, 2);
+        int second = 0;
+        int nanos = 0;
+        if (len > 16) {
+            if (len < 19 || text.charAt(s + 16) != ':') {
+                return null;
+            }
+            second = digits(s + 17, 2);
+            if (len > 19) {
+                int fracDigits = len - 20;
+                if (text.charAt(s + 19) != '.' || fracDigits < 1 || fracDigits > 9) {
+                    return null;
+                }
+                nanos = digits(s + 20, fracDigits);
+                for (int k = fracDigits; k < 9 && nanos >= 0; k++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    /** Decodes {@code n} ASCII digits starting at {@code from}, or returns -1. */
+    private int digits(int from, int n) {
+        int v = 0;
+        for (int i = from; i < from + n; i++) {
+            int d = text.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private String nextQuoted() {
+        StringBuilder sb = unquoted;
+        if (sb == null) {
+            sb = unquoted = new StringBuilder();
+        }
+        sb.setLength(0);
+        int i = pos + 1;
+        while (true) {
+            if (i >= end) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            char c = text.charAt(i++);
+            if (c == '"') {
+                if (i < end && text.charAt(i) == '"') {
+                    sb.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        if (i < end && text.charAt(i) != ',') {
+            throw new IllegalArgumentException("Unexpected character after quoted field");
+        }
+        advancePast(i);
+        return sb.toString();
+    }
+
+    private void requireField() {
+        if (exhausted) {
+            throw new IllegalArgumentException("Missing field");
+        }
+    }
+
+    /** Index of the comma ending the current unquoted field, or {@code end}. */
+    private int fieldEnd() {
+        for (int i = pos; i < end; i++) {
+            if (text.charAt(i) == ',') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private void advancePast(int fieldEnd) {
+        if (fieldEnd >= end) {
+            pos = end;
+            exhausted = true;
+        } else {
+            pos = fieldEnd + 1;
+        }
+    }
+
+    private NumberFormatException numberError(int fieldEnd) {
+        return new NumberFormatException("For input string: \"" + text.subSequence(pos, fieldEnd) + "\"");
+    }
+}
@@ -0,0 +1,318 @@
+package com.ibrahim.bookstore.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Buffered CSV writer that encodes rows straight into a byte buffer.
+ *
+ * <p>Fields are appended with the typed methods and terminated with
+ * {@link #endRow()}; separators are inserted automatically. Text is encoded
+ * as UTF-8 and quoted as in RFC 4180 when needed, numbers and timestamps are
+ * written digit by digit, and the buffer is flushed to a {@link FileChannel}
+ * in large blocks. The output is byte-for-byte what
+ * {@code PrintWriter.printf("%s,%.2f,%d,%s%n", ...)} produced in a UTF-8
+ * environment, but without format parsing or boxing.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class CsvWriter implements Closeable {
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BLOCK_SIZE);
+    private final byte[] digits = new byte[20];
+    private boolean rowStarted;
+    private long bytesWritten;
+
+    /**
+     * Opens a writer that replaces the contents of the given file.
+     *
+     * @param path the file to create or truncate
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvWriter(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Wraps an open channel; bytes are written at the channel’s current position.
+     *
+     * @param channel a writable channel, closed together with this writer
+     */
+    public CsvWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes a raw line, such as a header, without quoting.
+     *
+     * @param line the complete line, without terminator
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter line(String line) throws IOException {
+        for (int i = 0; i < line.length(); i++) {
+            i = putChar(line, i);
+        }
+        return endRow();
+    }
+
+    /**
+     * Appends a text field, quoting it if it contains a comma or quote.
+     *
+     * <p>Line breaks ({@code \r\n}, {@code \r} or {@code \n}) are written as
+     * a single space: the readers split files into lines before parsing, so
+     * a quoted field spanning lines would be read back as malformed rows.</p>
+     *
+     * @param value the field value; {@code null} is written as an empty field
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"';
+        }
+        if (quote) {
+            putByte('"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\r' || c == '\n') {
+                putByte(' ');
+                if (c == '\r' && i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (quote && c == '"') {
+                putByte('"');
+            }
+            i = putChar(value, i);
+        }
+        if (quote) {
+            putByte('"');
+        }
+        return this;
+    }
+
+    /**
+     * Appends an integer field.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter integer(long value) throws IOException {
+        separator();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Appends a money amount held in cents, with exactly two fraction digits.
+     *
+     * @param cents the amount in cents
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter cents(long cents) throws IOException {
+        separator();
+        if (cents < 0) {
+            putByte('-');
+            cents = -cents;
+        }
+        putLong(cents / 100);
+        putByte('.');
+        long c = cents % 100;
+        putByte('0' + (int) (c / 10));
+        putByte('0' + (int) (c % 10));
+        return this;
+    }
+
+    /**
+     * Appends a timestamp field in the layout of {@link LocalDateTime#toString()}.
+     *
+     * @param ts the timestamp
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter timestamp(LocalDateTime ts) throws IOException {
+        separator();
+        int year = ts.getYear();
+        if (year < 0 || year > 9999) {
+            putAscii(ts.toString());
+            return this;
+        }
+        putPadded(year, 4);
+        putByte('-');
+        putPadded(ts.getMonthValue(), 2);
+        putByte('-');
+        putPadded(ts.getDayOfMonth(), 2);
+        putByte('T');
+        putPadded(ts.getHour(), 2);
+        putByte(':');
+        putPadded(ts.getMinute(), 2);
+        int second = ts.getSecond();
+        int nano = ts.getNano();
+        if (second > 0 || nano > 0) {
+            putByte(':');
+            putPadded(second, 2);
+            if (nano > 0) {
+                putByte('.');
+                if (nano % 1_000_000 == 0) {
+                    putPadded(nano / 1_000_000, 3);
+                } else if (nano % 1000 == 0) {
+                    putPadded(nano / 1000, 6);
+                } else {
+                    putPadded(nano, 9);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Terminates the current row with the platform line separator.
+     *
+     * @return this writer
+     * @throws IOException if flushing fails
+     */
+    public CsvWriter endRow() throws IOException {
+        for (byte b : LINE_SEPARATOR) {
+            putByte(b);
+        }
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        buf.flip();
+        bytesWritten += buf.remaining();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+    /**
+     * Returns the number of bytes flushed to the channel so far; after
+     * {@link #close()} this is the total written.
+     *
+     * @return bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Flushes buffered bytes and closes the channel.
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            putByte(',');
+        }
+        rowStarted = true;
+    }
+
+    private void putByte(int b) throws IOException {
+        if (!buf.hasRemaining()) {
+            flush();
+        }
+        buf.put((byte) b);
+    }
+
+    private void putAscii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            putByte(s.charAt(i));
+        }
+    }
+
+    /**
+     * Encodes the character at {@code i} as UTF-8 and returns the index of the
+     * last char consumed (one past {@code i} for a surrogate pair).
+     */
+    private int putChar(String s, int i) throws IOException {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+            putByte(c);
+        } else if (c < 0x800) {
+            putByte(0xC0 | (c >> 6));
+            putByte(0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            putByte(0xF0 | (cp >> 18));
+            putByte(0x80 | ((cp >> 12) & 0x3F));
+            putByte(0x80 | ((cp >> 6) & 0x3F));
+            putByte(0x80 | (cp & 0x3F));
+            return i + 1;
+        } else if (Character.isSurrogate(c)) {
+            putByte('?'); // unpaired surrogate, as the JDK encoder replaces it
+        } else {
+            putByte(0xE0 | (c >> 12));
+            putByte(0x80 | ((c >> 6) & 0x3F));
+            putByte(0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+
+    private void putLong(long v) throws IOException {
+        if (v == Long.MIN_VALUE) {
+            putAscii(Long.toString(v));
+            return;
+        }
+        if (v < 0) {
+            putByte('-');
+            v = -v;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        while (n > 0) {
+            putByte(digits[--n]);
+        }
+    }
+
+    private void putPadded(int v, int width) throws IOException {
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = (byte) ('0' + (v % 10));
+            v /= 10;
+        }
+        for (int i = 0; i < width; i++) {
+            putByte(digits[i]);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ibrahim.bookstore.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Parallel CSV reader over a memory-mapped file.
+ *
+ * <p>The file after the header line is cut into chunks that end on line
+ * boundaries. Each chunk is mapped, decoded as UTF-8 and tokenized in place
+ * on the common fork-join pool; the per-chunk results are concatenated in
+ * file order, so the output matches a sequential line-by-line read.</p>
+ */
+final class MappedCsvReader {
+    /** Smallest chunk worth handing to its own task. */
+    private static final long MIN_CHUNK = 1L << 20;
+    /** Largest chunk; keeps each mapping and its decoded text well under 2 GB. */
+    private static final long MAX_CHUNK = 1L << 26;
+
+    private MappedCsvReader() {
+        // Utility class
+    }
+
+    /**
+     * Reads all data rows of a CSV file in parallel.
+     *
+     * @param path   the CSV file
+     * @param header the expected first line
+     * @param kind   a label for error messages, e.g. "inventory"
+     * @param parser parses one row; returns {@code null} to skip a malformed row
+     * @param stats  receives row counts, file size and timing
+     * @param <T>    the row type
+     * @return the parsed rows in file order
+     * @throws IOException if the file cannot be read or the header does not match
+     */
+    static <T> List<T> read(String path, String header, String kind,
+                            Function<CsvTokenizer, T> parser, CsvStats stats) throws IOException {
+        long start = System.nanoTime();
+        Path file = Paths.get(path);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long bodyStart = checkHeader(ch, size, header, kind);
+            long[] bounds = chunkBounds(ch, bodyStart, size);
+            LongAdder malformed = new LongAdder();
+            List<T> rows = ForkJoinPool.commonPool().invoke(
+                    new ChunkTask<>(ch, bounds, 0, bounds.length - 1, parser, malformed));
+            stats.record(rows.size(), malformed.sum(), size, System.nanoTime() - start);
+            return rows;
+        }
+    }
+
+    /**
+     * Validates the header line and returns the offset of the first data row.
+     */
+    private static long checkHeader(FileChannel ch, long size, String header, String kind)
+            throws IOException {
+        long nl = findNewline(ch, 0, size);
+        long lineEnd = nl < 0 ? size : nl;
+        String first = null;
+        if (size > 0) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, lineEnd);
+            first = stripCr(StandardCharsets.UTF_8.decode(buf).toString());
+        }
+        if (first == null || !first.equals(header)) {
+            throw new IOException("Invalid " + kind + " CSV header: " + first);
+        }
+        return nl < 0 ? size : nl + 1;
+    }
+
+    /**
+     * Splits {@code [start, size)} into chunk boundaries that fall just after a newline.
+     */
+    private static long[] chunkBounds(FileChannel ch, long start, long size) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long target = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, (size - start) / (parallelism * 4L) + 1));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        long pos = start;
+        while (size - pos > target) {
+            long nl = findNewline(ch, pos + target, size);
+            if (nl < 0) {
+                break;
+            }
+            pos = nl + 1;
+            bounds.add(pos);
+        }
+        if (pos < size) {
+            bounds.add(size);
+        }
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = bounds.get(i);
+        }
+        return out;
+    }
+
+    /**
+     * Returns the offset of the first {@code '\n'} at or after {@code from}, or -1.
+     */
+    private static long findNewline(FileChannel ch, long from, long size) throws IOException {
+        int window = 1 << 16;
+        for (long pos = from; pos < size; pos += window) {
+            long len = Math.min(window, size - pos);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            for (int i = 0; i < len; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String stripCr(String line) {
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    /** Parses chunks {@code [lo, hi)} and concatenates their rows in order. */
+    private static final class ChunkTask<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel ch;
+        private final long[] bounds;
+        private final int lo;
+        private final int hi;
+        private final Function<CsvTokenizer, T> parser;
+        private final LongAdder malformed;
+
+        private ChunkTask(FileChannel ch, long[] bounds, int lo, int hi,
+                          Function<CsvTokenizer, T> parser, LongAdder malformed) {
+            this.ch = ch;
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+            this.parser = parser;
+            this.malformed = malformed;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (hi - lo <= 1) {
+                return lo < hi ? parseChunk(bounds[lo], bounds[hi]) : new ArrayList<>();
+            }
+            int mid = (lo + hi) >>> 1;
+            ChunkTask<T> left = new ChunkTask<>(ch, bounds, lo, mid, parser, malformed);
+            left.fork();
+            List<T> right = new ChunkTask<>(ch, bounds, mid, hi, parser, malformed).compute();
+            List<T> out = left.join();
+            out.addAll(right);
+            return out;
+        }
+
+        private List<T> parseChunk(long start, long end) {
+            CharBuffer text;
+            try {
+                text = StandardCharsets.UTF_8.decode(
+                        ch.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            List<T> rows = new ArrayList<>();
+            CsvTokenizer tok = new CsvTokenizer();
+            long bad = 0;
+            int len = text.length();
+            int lineStart = 0;
+            for (int i = 0; i <= len; i++) {
+                if (i == len || text.charAt(i) == '\n') {
+                    if (i > lineStart || i < len) {
+                        int lineEnd = i > lineStart && text.charAt(i - 1) == '\r' ? i - 1 : i;
+                        T row = parser.apply(tok.reset(text, lineStart, lineEnd));
+                        if (row != null) {
+                            rows.add(row);
+                        } else {
+                            bad++;
+                        }
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            malformed.add(bad);
+            return rows;
+        }
+    }
+}
@@ -7,6 +7,19 @@
  *   <li>{@link com.ibrahim.bookstore.util.CSVUtil} — reads and writes
  *       inventory and sales data in CSV format, handling headers, parsing,
  *       formatting, and I/O errors.</li>
+ *   <li>{@link com.ibrahim.bookstore.util.CsvTokenizer} — single-pass,
+ *       RFC&nbsp;4180 aware field decoder with fast number and timestamp
+ *       paths; {@link com.ibrahim.bookstore.util.CsvStats} reports the
+ *       resulting import throughput.</li>
+ *   <li>{@link com.ibrahim.bookstore.util.CsvWriter} — buffered writer that
+ *       encodes rows directly into bytes and flushes them through a
+ *       {@code FileChannel} in large blocks.</li>
+ *   <li>{@link com.ibrahim.bookstore.util.BinarySnapshot} — versioned binary
+ *       snapshot format with columnar numbers, loaded through a memory-mapped
+ *       channel, plus converters to and from the CSV files.</li>
+ *   <li>{@link com.ibrahim.bookstore.util.AtomicFiles} — crash-safe
+ *       replacement of snapshot files through a synced temporary file and
+ *       an atomic rename.</li>
  *   <li>{@link com.ibrahim.bookstore.util.CLI} — offers a rich set of static
  *       methods for console–based prompts, input validation loops, menus,
  *       yes/no confirmations, and formatted output messages.</li>
@@ -0,0 +1,85 @@
+package com.ibrahim.bookstore;
+
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.SalesManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchRunner}, covering each command, per-line
+ * error reporting and a full load-apply-save run.
+ */
+class BatchRunnerTest {
+
+    /**
+     * Applies every command type and checks that bad lines are reported
+     * by number without stopping the batch.
+     */
+    @Test
+    void processAppliesCommandsAndReportsFailures() throws IOException {
+        InventoryManager inv = new InventoryManager();
+        SalesManager sales = new SalesManager(inv);
+        StringWriter text = new StringWriter();
+        BatchRunner runner = new BatchRunner(inv, sales, new PrintWriter(text));
+
+        String batch = String.join("\n",
+                "# nightly import",
+                "add,A1,Book A,Author A,10.00,5",
+                "add,B2,Book B,Author B,7.50,2",
+                "",
+                "update,A1,Book A (2nd ed.),Author A,12.00,5",
+                "sell,A1,3,2025-05-20T12:00",
+                "sell,B2,9",
+                "remove,B2",
+                "remove,B2",
+                "refund,A1");
+        runner.process(new BufferedReader(new StringReader(batch)));
+
+        assertEquals(8, runner.getCommands());
+        assertEquals(3, runner.getFailed());
+        assertEquals(2, inv.findBook("A1").getQuantity());
+        assertEquals("Book A (2nd ed.)", inv.findBook("A1").getTitle());
+        assertNull(inv.findBook("B2"));
+        assertEquals(1, sales.listAllSales().size());
+        assertEquals(LocalDateTime.of(2025, 5, 20, 12, 0), sales.listAllSales().get(0).getTimestamp());
+        assertEquals(3600, sales.totalRevenueCents());
+
+        String out = text.toString();
+        assertTrue(out.contains("Line 7: Not enough stock. Available: 2"));
+        assertTrue(out.contains("Line 9: No book found with ISBN B2"));
+        assertTrue(out.contains("Line 10: Unknown command: refund"));
+    }
+
+    /**
+     * Runs a batch end to end and checks that both files are written back.
+     */
+    @Test
+    void runLoadsAppliesAndSaves(@TempDir Path dir) throws IOException {
+        Path inventory = dir.resolve("inventory.csv");
+        Path sales = dir.resolve("sales.csv");
+        Path tx = dir.resolve("tx.csv");
+        Files.writeString(tx, "add,A1,Book A,Author A,10.00,5\nsell,A1,2\n");
+
+        StringWriter text = new StringWriter();
+        int status = BatchRunner.run(inventory.toString(), sales.toString(), tx.toString(),
+                new PrintWriter(text));
+
+        assertEquals(0, status);
+        assertTrue(text.toString().contains("Processed 2 commands"));
+        assertTrue(text.toString().contains("Loaded data in "), "Load and save timed separately");
+        InventoryManager reloaded = new InventoryManager(inventory.toString());
+        assertEquals(3, reloaded.findBook("A1").getQuantity());
+        assertEquals(1, new SalesManager(sales.toString()).listAllSales().size());
+    }
+}
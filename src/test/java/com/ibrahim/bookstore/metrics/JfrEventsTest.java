@@ -0,0 +1,101 @@
+package com.ibrahim.bookstore.metrics;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.ReportGenerator;
+import com.ibrahim.bookstore.service.ReportSinks;
+import com.ibrahim.bookstore.service.SalesManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the custom JFR events are emitted with their fields while a
+ * recording is running.
+ */
+class JfrEventsTest {
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    /**
+     * Saves and reloads CSV files, records a sale and a batch and prints a
+     * report under a recording, then reads the events back.
+     */
+    @Test
+    void eventsAreRecorded(@TempDir Path dir) throws Exception {
+        Path inventoryCsv = dir.resolve("inventory.csv");
+        Path salesCsv = dir.resolve("sales.csv");
+        Path jfr = dir.resolve("test.jfr");
+        PrintStream originalOut = System.out;
+        try (Recording recording = new Recording()) {
+            recording.enable(CsvReadEvent.class);
+            recording.enable(CsvWriteEvent.class);
+            recording.enable(SaleRecordedEvent.class);
+            recording.enable(SalesBatchRecordedEvent.class);
+            recording.enable(ReportEvent.class);
+            recording.start();
+
+            InventoryManager inv = new InventoryManager();
+            inv.addBook(new Book("A1", "Book A", "Author A", 10.00, 5));
+            SalesManager sales = new SalesManager(inv);
+            sales.recordSale(inv.findBook("A1"), 2);
+            LocalDateTime ts = LocalDateTime.of(2025, 6, 1, 10, 0);
+            sales.recordSales(List.of(new Sale(inv.findBook("A1"), 3, ts), new Sale(inv.findBook("A1"), 0, ts)));
+            inv.saveInventory(inventoryCsv.toString());
+            sales.saveSales(salesCsv.toString());
+            new InventoryManager(inventoryCsv.toString());
+            System.setOut(new PrintStream(new ByteArrayOutputStream()));
+            ReportGenerator reports = new ReportGenerator(inv, sales);
+            reports.printDashboard(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 3);
+            reports.writeSalesByDateRange(LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1),
+                    ReportSinks.paged(ReportSinks.csv(new StringWriter()), 0, 1));
+
+            recording.stop();
+            recording.dump(jfr);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        RecordedEvent sale = ofType(events, "com.ibrahim.bookstore.SaleRecorded").get(0);
+        assertEquals("A1", sale.getString("isbn"));
+        assertEquals(2000, sale.getLong("amountCents"));
+
+        RecordedEvent batch = ofType(events, "com.ibrahim.bookstore.SalesBatchRecorded").get(0);
+        assertEquals(1, batch.getInt("recorded"));
+        assertEquals(1, batch.getInt("invalid"));
+        assertEquals(3, batch.getLong("units"));
+        assertEquals(3000, batch.getLong("amountCents"));
+
+        List<RecordedEvent> writes = ofType(events, "com.ibrahim.bookstore.CsvWrite");
+        assertEquals(2, writes.size());
+        assertTrue(writes.get(0).getLong("bytes") > 0);
+
+        RecordedEvent read = ofType(events, "com.ibrahim.bookstore.CsvRead").get(0);
+        assertEquals(inventoryCsv.toString(), read.getString("file"));
+        assertEquals(1, read.getLong("rows"));
+        assertEquals(0, read.getLong("malformed"));
+
+        List<RecordedEvent> reports = ofType(events, "com.ibrahim.bookstore.Report");
+        assertEquals("dashboard", reports.get(0).getString("report"));
+        assertEquals(2, reports.get(0).getLong("rowsScanned"));
+        assertEquals("salesByDateRange", reports.get(1).getString("report"));
+        assertEquals(2, reports.get(1).getLong("rowsScanned"), "Rows fetched, not the one row printed");
+    }
+}
@@ -0,0 +1,92 @@
+package com.ibrahim.bookstore.metrics;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.SalesManager;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LatencyHistogram} and the {@link Metrics} registry.
+ */
+class MetricsTest {
+
+    /**
+     * Checks that every value lands in a bucket whose bounds contain it and
+     * that bucket widths stay within the promised relative error.
+     */
+    @Test
+    void bucketsBoundTheirValues() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long v : values) {
+            int bucket = LatencyHistogram.bucket(v);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= v, "upper bound of " + v);
+            long lower = bucket == 0 ? 0 : LatencyHistogram.upperBound(bucket - 1) + 1;
+            assertTrue(lower <= v, "lower bound of " + v);
+            assertTrue(LatencyHistogram.upperBound(bucket) - lower <= Math.max(1, v / 32), "width at " + v);
+        }
+    }
+
+    /**
+     * Records a uniform distribution and checks the percentiles.
+     */
+    @Test
+    void percentilesAreWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        for (int i = 1; i <= 10_000; i++) {
+            h.record(i * 1_000L);
+        }
+        assertEquals(10_000, h.getCount());
+        assertEquals(5_000_500, h.getMeanNanos(), 1e-6);
+        assertEquals(5_000_000, h.valueAtPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, h.valueAtPercentile(99), 9_900_000 / 32.0);
+        assertEquals(10_000_000, h.valueAtPercentile(100));
+        h.reset();
+        assertEquals(0, h.valueAtPercentile(50));
+    }
+
+    /**
+     * Checks that a bulk import is measured once per batch, not per sale.
+     */
+    @Test
+    void recordSalesIsMeasuredPerBatch() {
+        Book b = new Book("B1", "Book B", "Author B", 5.00, 5);
+        LocalDateTime ts = LocalDateTime.of(2025, 6, 1, 10, 0);
+        long before = Metrics.RECORD_SALES.getCount();
+        long singles = Metrics.RECORD_SALE.getCount();
+        new SalesManager().recordSales(List.of(new Sale(b, 1, ts), new Sale(b, 2, ts), new Sale(b, 3, ts)));
+        assertEquals(before + 1, Metrics.RECORD_SALES.getCount());
+        assertEquals(singles, Metrics.RECORD_SALE.getCount(), "Batch rows are not counted as single sales");
+    }
+
+    /**
+     * Checks that the instrumented lookup is counted, dumped and visible over JMX.
+     */
+    @Test
+    void findBookIsMeasuredAndExposed() throws Exception {
+        assertTrue(Metrics.ENABLED);
+        InventoryManager inv = new InventoryManager();
+        inv.addBook(new Book("A1", "Book A", "Author A", 10.00, 5));
+        long before = Metrics.FIND_BOOK.getCount();
+        inv.findBook("A1");
+        inv.findBook("Z9");
+        assertEquals(before + 2, Metrics.FIND_BOOK.getCount());
+        assertTrue(Metrics.dump().contains("inventory.findBook"));
+
+        Metrics.registerMBeans();
+        Metrics.registerMBeans();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.JMX_DOMAIN + ":type=Latency,name=\"inventory.findBook\"");
+        assertEquals(Metrics.FIND_BOOK.getCount(), server.getAttribute(name, "Count"));
+        assertEquals(Boolean.TRUE, server.getAttribute(new ObjectName(Metrics.JMX_DOMAIN + ":type=Metrics"),
+                "Enabled"));
+    }
+}
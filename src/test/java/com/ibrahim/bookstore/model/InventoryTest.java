@@ -43,6 +43,32 @@ class InventoryTest {
         assertSame(sample, inv.findByIsbn("111"), "findByIsbn should return the same instance");
     }
 
+    /**
+     * Adding a second book with an existing ISBN is rejected and leaves the original intact.
+     */
+    @Test
+    void addDuplicateIsbnRejected() {
+        inv.addBook(sample);
+        assertThrows(IllegalArgumentException.class,
+                () -> inv.addBook(new Book("111", "Other", "Other", 1.0, 1)),
+                "Duplicate ISBN should be rejected");
+        assertEquals(1, inv.getBooks().size(), "Inventory should still have one book");
+        assertSame(sample, inv.findByIsbn("111"), "Original book should be kept");
+    }
+
+    /**
+     * getBooks() lists books in insertion order, also after a removal.
+     */
+    @Test
+    void getBooksKeepsInsertionOrder() {
+        inv.addBook(new Book("333", "C", "A", 1.0, 1));
+        inv.addBook(sample);
+        inv.addBook(new Book("222", "B", "A", 1.0, 1));
+        inv.removeBookByIsbn("111");
+        assertEquals("333", inv.getBooks().get(0).getIsbn(), "First inserted first");
+        assertEquals("222", inv.getBooks().get(1).getIsbn(), "Last inserted last");
+    }
+
     /**
      * Removing by existing ISBN works; removing non-existent ISBN returns false.
      */
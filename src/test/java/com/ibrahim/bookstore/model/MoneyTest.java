@@ -0,0 +1,71 @@
+package com.ibrahim.bookstore.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Money}.
+ */
+class MoneyTest {
+
+    /**
+     * Parsing rounds half-up on the third fraction digit and accepts the usual notations.
+     */
+    @Test
+    void parsesDecimals() {
+        assertEquals(1299, Money.parse("12.99"));
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(1200, Money.parse("12"));
+        assertEquals(1200, Money.parse("+12."));
+        assertEquals(-350, Money.parse("-3.50"));
+        assertEquals(101, Money.parse("1.005"));
+        assertEquals(100, Money.parse("1.00499999"));
+        assertEquals(-101, Money.parse("-1.005"));
+        assertEquals(125, Money.parse("1.25e0"));
+        assertEquals(99, Money.parse("x0.99y", 1, 5));
+        assertThrows(NumberFormatException.class, () -> Money.parse(""));
+        assertThrows(NumberFormatException.class, () -> Money.parse("."));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("1e30"));
+    }
+
+    /**
+     * Formatting and double conversion agree with the {@code %.2f} layout.
+     */
+    @Test
+    void matchesPrintfRounding() {
+        Random rnd = new Random(7);
+        double[] edge = {0.0, 1.005, 0.125, 2.675, 12.99, 19.95, -0.125, -7.5, 1e11 + 0.005};
+        for (int i = 0; i < 10_000; i++) {
+            double v = i < edge.length ? edge[i] : Math.round((rnd.nextDouble() - 0.5) * 1e7) / 1000.0;
+            String expected = String.format(Locale.ROOT, "%.2f", v);
+            long cents = Money.toCents(v);
+            if (cents != 0) {
+                assertEquals(expected, Money.format(cents), "value " + v);
+            }
+            assertEquals(cents, Money.parse(expected), "value " + v);
+        }
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("0.00", Money.format(0));
+    }
+
+    /**
+     * Cent sums are exact where {@code double} sums drift.
+     */
+    @Test
+    void sumsExactly() {
+        Book b = new Book("1", "X", "Y", 0.10, 1);
+        long cents = 0;
+        double d = 0;
+        for (int i = 0; i < 1000; i++) {
+            cents += new Sale(b, 3, null).getAmountCents();
+            d += b.getPrice() * 3;
+        }
+        assertEquals(30_000, cents);
+        assertNotEquals(300.0, d);
+    }
+}
@@ -0,0 +1,220 @@
+package com.ibrahim.bookstore.server;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.service.InventoryManager;
+import com.ibrahim.bookstore.service.SalesManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BookstoreServer} and {@link LoadTestClient}, run
+ * against a server on an ephemeral port.
+ */
+class BookstoreServerTest {
+    private InventoryManager inventory;
+    private SalesManager sales;
+    private BookstoreServer server;
+    private HttpClient client;
+
+    /**
+     * Starts a server over a two-book inventory.
+     */
+    @BeforeEach
+    void setup() throws IOException {
+        inventory = new InventoryManager();
+        inventory.addBook(new Book("A1", "Book \"A\"", "Author A", 10.00, 5));
+        inventory.addBook(new Book("B2", "Book B", "Author B", 7.50, 2));
+        sales = new SalesManager(inventory);
+        server = new BookstoreServer(inventory, sales, 0, 2);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    void teardown() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    /**
+     * Looks books up by ISBN and by search.
+     */
+    @Test
+    void lookupAndSearch() throws Exception {
+        HttpResponse<String> found = get("/books/A1");
+        assertEquals(200, found.statusCode());
+        assertEquals("{\"isbn\":\"A1\",\"title\":\"Book \\\"A\\\"\",\"author\":\"Author A\",\"price\":10.00,"
+                + "\"quantity\":5}", found.body());
+        assertEquals(404, get("/books/Z9").statusCode());
+
+        HttpResponse<String> search = get("/books?q=author%20b");
+        assertEquals(200, search.statusCode());
+        assertTrue(search.body().startsWith("[{\"isbn\":\"B2\""));
+        assertEquals(405, post("/books/A1", "{}").statusCode());
+    }
+
+    /**
+     * Sells through the API and checks the status codes and reports.
+     */
+    @Test
+    void sellAndReport() throws Exception {
+        HttpResponse<String> sold = post("/sales", "{\"isbn\": \"A1\", \"quantity\": 3}");
+        assertEquals(201, sold.statusCode());
+        assertTrue(sold.body().contains("\"amount\":30.00"));
+        assertEquals(2, inventory.findBook("A1").getQuantity());
+
+        assertEquals(409, post("/sales", "{\"isbn\":\"A1\",\"quantity\":3}").statusCode());
+        assertEquals(404, post("/sales", "{\"isbn\":\"Z9\",\"quantity\":1}").statusCode());
+        assertEquals(400, post("/sales", "{\"isbn\":\"A1\",\"quantity\":\"x\"}").statusCode());
+        assertEquals(400, post("/sales", "{\"isbn\":\"A1\",\"quantity\":0}").statusCode());
+        assertEquals(400, post("/sales", "not json").statusCode());
+
+        assertEquals("{\"revenue\":30.00,\"units\":3,\"sales\":1}", get("/reports/revenue").body());
+        assertEquals("[{\"book\":\"A1 - Book \\\"A\\\"\",\"units\":3}]", get("/reports/top-sellers?n=1").body());
+        assertTrue(get("/reports/low-stock?threshold=3").body().contains("\"isbn\":\"A1\""));
+        assertEquals(400, get("/reports/sales?from=2025-01-01").statusCode());
+        assertEquals(404, get("/reports/unknown").statusCode());
+    }
+
+    /**
+     * Pages through the sales report and rejects unbounded result counts.
+     */
+    @Test
+    void reportsArePaged() throws Exception {
+        Book book = inventory.findBook("A1");
+        for (int day = 1; day <= 3; day++) {
+            sales.recordSale(book, 1, LocalDateTime.of(2025, 5, day, 12, 0));
+        }
+        String range = "/reports/sales?from=2025-05-01&to=2025-05-31";
+        assertEquals(3, count(get(range).body(), "\"timestamp\""));
+        HttpResponse<String> page = get(range + "&offset=1&limit=1");
+        assertEquals(200, page.statusCode());
+        assertEquals(1, count(page.body(), "\"timestamp\""));
+        assertTrue(page.body().contains("2025-05-02T12:00"));
+        assertEquals("[]", get(range + "&offset=5").body());
+
+        assertEquals(400, get(range + "&limit=" + (BookstoreServer.MAX_LIMIT + 1)).statusCode());
+        assertEquals(400, get(range + "&offset=-1").statusCode());
+        assertEquals(400, get("/reports/top-sellers?n=" + (BookstoreServer.MAX_LIMIT + 1)).statusCode());
+    }
+
+    /**
+     * With the only worker busy and the queue full, further requests are
+     * answered 503 at once instead of waiting.
+     */
+    @Test
+    void fullQueueAnswers503() throws Exception {
+        server.stop(0);
+        server = new BookstoreServer(inventory, sales, new InetSocketAddress(0), 1, 1);
+        server.start();
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        inventory.setDefaultReorderThreshold(5);
+        inventory.addLowStockListener((book, qty, threshold) -> {
+            busy.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<HttpResponse<String>> blocked = client.sendAsync(HttpRequest.newBuilder(uri("/sales"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"isbn\":\"A1\",\"quantity\":1}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(busy.await(10, TimeUnit.SECONDS), "Worker is busy");
+
+        List<CompletableFuture<HttpResponse<String>>> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(client.sendAsync(HttpRequest.newBuilder(uri("/books/B2")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queued.stream().filter(CompletableFuture::isDone).count() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        int rejected = 0;
+        for (CompletableFuture<HttpResponse<String>> f : queued) {
+            if (f.isDone()) {
+                HttpResponse<String> r = f.get();
+                assertEquals(503, r.statusCode());
+                assertEquals("1", r.headers().firstValue("Retry-After").orElse(null));
+                rejected++;
+            }
+        }
+        assertEquals(2, rejected, "Only one request fits in the queue");
+
+        release.countDown();
+        assertEquals(201, blocked.get(10, TimeUnit.SECONDS).statusCode());
+        int served = 0;
+        for (CompletableFuture<HttpResponse<String>> f : queued) {
+            served += f.get(10, TimeUnit.SECONDS).statusCode() == 200 ? 1 : 0;
+        }
+        assertEquals(1, served);
+    }
+
+    private static int count(String text, String part) {
+        int n = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Runs a short load test against the lookup endpoint.
+     */
+    @Test
+    void loadTestClientMeasuresRequests() throws Exception {
+        LoadTestClient.Result result = LoadTestClient.run(uri("/books/A1"), 2, 25, null);
+        assertEquals(50, result.getRequests());
+        assertEquals(0, result.getErrors());
+        assertTrue(result.percentileNanos(50) <= result.percentileNanos(99));
+        assertTrue(result.getRequestsPerSecond() > 0);
+    }
+
+    /**
+     * Parses flat objects and rejects nested ones.
+     */
+    @Test
+    void jsonParsesFlatObjects() {
+        Map<String, String> fields = Json.parseObject(" {\"a\":\"x\\u0041\\n\", \"b\": 12, \"c\": null} ");
+        assertEquals("xA\n", fields.get("a"));
+        assertEquals("12", fields.get("b"));
+        assertTrue(fields.containsKey("c"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":[1]}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+    }
+}
@@ -6,7 +6,11 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -54,4 +58,202 @@ class InventoryManagerTest {
         assertEquals(1, m2.listAllBooks().size(), "Reload should have one book");
         assertEquals("B2", m2.listAllBooks().get(0).getIsbn(), "...with correct ISBN");
     }
+
+    /**
+     * Selling decrements stock and records the sale; failures leave state untouched.
+     */
+    @Test
+    void sellChecksStockAndRecords() {
+        SalesManager sales = new SalesManager();
+        mgr.sell("A1", 1, sales);
+        assertEquals(0, mgr.findBook("A1").getQuantity(), "Stock should be decremented");
+        assertEquals(1, sales.listAllSales().size(), "Sale should be recorded");
+
+        assertThrows(IllegalStateException.class, () -> mgr.sell("A1", 1, sales),
+                "Selling beyond stock should fail");
+        assertThrows(IllegalArgumentException.class, () -> mgr.sell("ZZ", 1, sales),
+                "Selling an unknown ISBN should fail");
+        assertEquals(1, sales.listAllSales().size(), "Failed sales should not be recorded");
+    }
+
+    /**
+     * Concurrent tills selling the same ISBN never oversell.
+     */
+    @Test
+    void concurrentSellNeverOversells() throws InterruptedException {
+        mgr.addBook(new Book("C3", "Book C", "Author C", 1.0, 1000));
+        SalesManager sales = new SalesManager();
+        AtomicInteger sold = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> tills = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread till = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    try {
+                        mgr.sell("C3", 1, sales);
+                        sold.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        // out of stock
+                    }
+                }
+            });
+            till.start();
+            tills.add(till);
+        }
+        start.countDown();
+        for (Thread till : tills) {
+            till.join();
+        }
+        assertEquals(1000, sold.get(), "Exactly the available stock should be sold");
+        assertEquals(0, mgr.findBook("C3").getQuantity(), "Stock should be exhausted");
+        assertEquals(1000, sales.listAllSales().size(), "Every sale should be recorded once");
+    }
+
+    /**
+     * The low-stock query follows adds, updates, sales and removals, lowest stock first.
+     */
+    @Test
+    void findLowStockTracksChanges() {
+        mgr.addBook(new Book("B2", "Book B", "Author B", 5.0, 3));
+        mgr.addBook(new Book("C3", "Book C", "Author C", 5.0, 10));
+        mgr.sell("C3", 8, new SalesManager());
+        mgr.updateBook(new Book("B2", "Book B", "Author B", 5.0, 50));
+
+        assertEquals(List.of("A1", "C3"), isbns(mgr.findLowStock(3)), "Ordered by quantity");
+        mgr.removeBook("A1");
+        assertEquals(List.of("C3"), isbns(mgr.findLowStock(3)), "Removed book dropped");
+        assertTrue(mgr.findLowStock(0).isEmpty(), "Nothing below zero");
+    }
+
+    /**
+     * Listeners fire once when stock crosses below the per-title or default threshold.
+     */
+    @Test
+    void lowStockListenerFiresOnCrossing() {
+        List<String> alerts = new ArrayList<>();
+        mgr.addLowStockListener((book, qty, threshold) -> alerts.add(book.getIsbn() + ":" + qty + "<" + threshold));
+        mgr.setDefaultReorderThreshold(5);
+        mgr.addBook(new Book("B2", "Book B", "Author B", 5.0, 6));
+        mgr.addBook(new Book("C3", "Book C", "Author C", 5.0, 30));
+        mgr.setReorderThreshold("C3", 20);
+        SalesManager sales = new SalesManager();
+
+        mgr.sell("B2", 1, sales);
+        assertTrue(alerts.isEmpty(), "6 -> 5 does not cross 5");
+        mgr.sell("B2", 1, sales);
+        mgr.sell("B2", 1, sales);
+        assertEquals(List.of("B2:4<5"), alerts, "Fires once on crossing");
+        mgr.sell("C3", 11, sales);
+        assertEquals("C3:19<20", alerts.get(1), "Per-title threshold");
+        mgr.updateBook(new Book("B2", "Book B", "Author B", 5.0, 10));
+        mgr.updateBook(new Book("B2", "Book B", "Author B", 5.0, 0));
+        assertEquals("B2:0<5", alerts.get(2), "Refilled then dropped again");
+        assertEquals(3, alerts.size());
+    }
+
+    /**
+     * Search matches word prefixes in title and author, ranks title hits
+     * first and follows updates and removals.
+     */
+    @Test
+    void searchBooksByTitleAndAuthor() {
+        mgr.addBook(new Book("H1", "The Hobbit", "J. R. R. Tolkien", 9.0, 1));
+        mgr.addBook(new Book("L2", "The Lord of the Rings", "J. R. R. Tolkien", 20.0, 1));
+        mgr.addBook(new Book("T3", "Tolkien: A Biography", "Humphrey Carpenter", 15.0, 1));
+        mgr.addBook(new Book("C4", "Café Stories", "Zoë Author", 5.0, 1));
+
+        assertEquals(List.of("T3", "H1", "L2"), isbns(mgr.searchBooks("tolkien", 10)), "Title hit ranks first");
+        assertEquals(List.of("H1"), isbns(mgr.searchBooks("TOLK hob", 10)), "Every word must match");
+        assertEquals(List.of("C4"), isbns(mgr.searchBooks("cafe zoe", 10)), "Accents ignored");
+        assertEquals(List.of("T3"), isbns(mgr.searchBooks("tolkien", 1)), "Limit applied");
+        assertTrue(mgr.searchBooks("  ,, ", 10).isEmpty(), "Blank query");
+
+        mgr.updateBook(new Book("H1", "There and Back Again", "J. R. R. Tolkien", 9.0, 1));
+        assertTrue(mgr.searchBooks("hobbit", 10).isEmpty(), "Old title unindexed");
+        assertEquals(List.of("H1"), isbns(mgr.searchBooks("back", 10)), "New title indexed");
+        mgr.removeBook("L2");
+        assertEquals(List.of("T3", "H1"), isbns(mgr.searchBooks("tolkien", 10)), "Removed book dropped");
+    }
+
+    /**
+     * A book whose stock keeps changing is never reported twice, and one
+     * whose stock is steady is always reported.
+     */
+    @Test
+    void lowStockQueryDuringUpdates() throws InterruptedException {
+        mgr.addBook(new Book("B2", "Book B", "Author B", 5.0, 0));
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                mgr.updateBook(new Book("A1", "Book A", "Author A", 10.0, i % 4));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            List<String> low = isbns(mgr.findLowStock(10));
+            assertEquals(low.size(), new HashSet<>(low).size(), "No duplicates: " + low);
+            assertTrue(low.contains("B2"), "Steady book always found");
+        }
+        writer.join();
+        assertEquals(List.of("B2", "A1"), isbns(mgr.findLowStock(10)));
+    }
+
+    /**
+     * Short terms match whole words only, and term order does not change the
+     * matches or the scores even though the rarest term is looked up first.
+     */
+    @Test
+    void searchShortTermsAndTermOrder() {
+        mgr.addBook(new Book("H1", "The Hobbit", "J. R. R. Tolkien", 9.0, 1));
+        mgr.addBook(new Book("L2", "The Lord of the Rings", "J. R. R. Tolkien", 20.0, 1));
+        mgr.addBook(new Book("O3", "Other Stories", "Theo Author", 5.0, 1));
+
+        assertEquals(List.of("L2"), isbns(mgr.searchBooks("of", 10)), "Whole word");
+        assertTrue(mgr.searchBooks("ho", 10).isEmpty(), "Too short to be a prefix");
+        assertEquals(List.of("H1", "L2"), isbns(mgr.searchBooks("the tolkien r", 10)), "Initial as a whole word");
+        assertEquals(isbns(mgr.searchBooks("the tolk", 10)), isbns(mgr.searchBooks("tolk the", 10)));
+        assertEquals(List.of("O3"), isbns(mgr.searchBooks("the oth", 10)), "Prefix of a title word");
+    }
+
+    /**
+     * Bulk add skips taken ISBNs and invalid rows; bulk upsert overwrites,
+     * keeps the indexes current and reports per item.
+     */
+    @Test
+    void bulkAddAndUpsert() {
+        BulkResult added = mgr.addBooks(List.of(
+                new Book("B2", "Book B", "Author B", 5.0, 3),
+                new Book("A1", "Clash", "X", 1.0, 1),
+                new Book("B2", "Again", "Y", 1.0, 1),
+                new Book("", "No ISBN", "Z", 1.0, 1)));
+        assertEquals(List.of(BulkResult.Status.ADDED, BulkResult.Status.DUPLICATE,
+                BulkResult.Status.DUPLICATE, BulkResult.Status.INVALID), added.getStatuses());
+        assertEquals("Book A", mgr.findBook("A1").getTitle(), "Existing book untouched");
+
+        List<String> alerts = new ArrayList<>();
+        mgr.addLowStockListener((book, qty, threshold) -> alerts.add(book.getIsbn()));
+        mgr.setDefaultReorderThreshold(2);
+        BulkResult upserted = mgr.upsertBooks(List.of(
+                new Book("B2", "Renamed", "Author B", 6.0, 0),
+                new Book("D4", "Book D", "Author D", 7.0, 9)));
+        assertEquals(1, upserted.count(BulkResult.Status.UPDATED));
+        assertEquals(1, upserted.count(BulkResult.Status.ADDED));
+        assertEquals("ADDED=1, UPDATED=1", upserted.toString());
+        assertEquals(List.of("B2"), alerts, "Crossing reported after the batch");
+        assertEquals(List.of("B2"), isbns(mgr.searchBooks("renamed", 10)), "Search reindexed");
+        assertEquals(List.of("B2", "A1"), isbns(mgr.findLowStock(2)), "Stock index updated");
+        assertEquals(3, mgr.listAllBooks().size());
+    }
+
+    private static List<String> isbns(List<Book> books) {
+        List<String> result = new ArrayList<>();
+        for (Book b : books) {
+            result.add(b.getIsbn());
+        }
+        return result;
+    }
 }
@@ -9,10 +9,14 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.*;
  *   <li>printTopSellingBooks()</li>
  *   <li>printLowStock()</li>
  *   <li>printSalesByDateRange()</li>
+ *   <li>printDashboard() and writeDashboard()</li>
  * </ul>
  */
 class ReportGeneratorTest {
@@ -107,6 +112,99 @@ class ReportGeneratorTest {
         assertFalse(output.contains("B2"),                  "Book B2 (qty=2) should not appear at threshold 2");
     }
 
+    /**
+     * Verifies the console sink keeps the exact layout of the former
+     * {@code printf} formatting.
+     */
+    @Test
+    void testConsoleLayoutUnchanged() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(out));
+        try {
+            reportGen.printLowStock(3);
+        } finally {
+            System.setOut(original);
+        }
+        String expected = String.format("%nLow Stock Books (below 3): %n")
+                + String.format("%-15s %-25s %10s%n", "ISBN", "Title", "Quantity")
+                + String.format("%-15s %-25s %10d%n", "A1", "Book A", 1)
+                + String.format("%-15s %-25s %10d%n", "B2", "Book B", 2);
+        assertEquals(expected, out.toString());
+    }
+
+    /**
+     * Verifies the CSV, JSON Lines and paged sinks.
+     */
+    @Test
+    void testWriteToSinks() throws IOException {
+        StringWriter csv = new StringWriter();
+        try (ReportSink sink = ReportSinks.csv(csv)) {
+            reportGen.writeLowStock(3, sink);
+        }
+        String nl = System.lineSeparator();
+        assertEquals("isbn,title,quantity" + nl + "A1,Book A,1" + nl + "B2,Book B,2" + nl, csv.toString());
+
+        StringWriter json = new StringWriter();
+        try (ReportSink sink = ReportSinks.paged(ReportSinks.jsonLines(json), 1, 1)) {
+            reportGen.writeTopSellingBooks(5, sink);
+            assertTrue(sink.isFull(), "Page of one row is complete");
+        }
+        assertEquals("{\"book\":\"A1 - Book A\",\"units\":2}\n", json.toString());
+    }
+
+    /**
+     * Verifies the dashboard prints every default metric from one pass and
+     * runs custom aggregators over each sale exactly once.
+     */
+    @Test
+    void testPrintDashboard() {
+        int[] rows = new int[1];
+        SalesAggregator counter = new SalesAggregator() {
+            @Override
+            public void accept(SalesSnapshot sales, int row) {
+                rows[0]++;
+            }
+
+            @Override
+            public void print(PrintWriter out) {
+                out.println("Rows seen: " + rows[0]);
+            }
+        };
+        LocalDate today = LocalDate.now();
+        List<SalesAggregator> aggs = new ArrayList<>(SalesAggregators.dashboard(today, today, 1));
+        aggs.add(counter);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            reportGen.printDashboard(aggs);
+        } finally {
+            System.setOut(original);
+        }
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("€35.00"),                    "Revenue should be €35.00");
+        assertTrue(output.contains("Top 1 Selling Books"),       "Top sellers included");
+        assertTrue(output.contains("B2 - Book B"),               "B2 sold most units");
+        assertFalse(output.contains("A1 - Book A"),              "Only the top title listed");
+        assertTrue(output.contains("Sales: 2, Units: 5, Revenue: €35.00"), "Today's range covers both sales");
+        assertTrue(output.contains("Units by Hour"),             "Hour histogram included");
+        assertTrue(output.contains("Units by Weekday"),          "Weekday histogram included");
+        assertEquals(2, rows[0],                                 "Each sale fed once");
+    }
+
+    /**
+     * The dashboard can be written to any writer instead of the console.
+     */
+    @Test
+    void testWriteDashboard() throws IOException {
+        StringWriter out = new StringWriter();
+        reportGen.writeDashboard(List.of(SalesAggregators.revenue()), out);
+        assertTrue(out.toString().contains("Dashboard (2 sales):"), "Header written");
+        assertTrue(out.toString().contains("Total Revenue: €35.00"), "Aggregator written");
+    }
+
     /**
      * Nested tests for date-range filtering of sales.
      */
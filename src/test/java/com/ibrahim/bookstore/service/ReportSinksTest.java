@@ -0,0 +1,110 @@
+package com.ibrahim.bookstore.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReportSinks}: escaping, fixed-width layout, paging
+ * and field-count checks.
+ */
+class ReportSinksTest {
+    private static final List<ReportColumn> COLUMNS = List.of(
+            ReportColumn.left("title", "Title", 8),
+            ReportColumn.right("qty", "Qty", 4),
+            ReportColumn.right("at", "At", 0));
+    private static final LocalDateTime TS = LocalDateTime.of(2025, 5, 20, 12, 0);
+
+    private static void writeRows(ReportSink sink) throws IOException {
+        sink.begin("Title line", COLUMNS);
+        sink.text("Plain").integer(3).timestamp(TS).endRow();
+        sink.text("A \"quoted\", title").integer(-1).timestamp(null).endRow();
+        sink.end();
+    }
+
+    /**
+     * Quotes CSV text fields only when needed and leaves nulls empty.
+     */
+    @Test
+    void csvEscapesFields() throws IOException {
+        StringWriter out = new StringWriter();
+        writeRows(ReportSinks.csv(out));
+        String nl = System.lineSeparator();
+        assertEquals("title,qty,at" + nl
+                + "Plain,3,2025-05-20T12:00" + nl
+                + "\"A \"\"quoted\"\", title\",-1," + nl, out.toString());
+    }
+
+    /**
+     * Writes one JSON object per row with numbers unquoted.
+     */
+    @Test
+    void jsonLinesEscapesStrings() throws IOException {
+        StringWriter out = new StringWriter();
+        writeRows(ReportSinks.jsonLines(out));
+        assertEquals("{\"title\":\"Plain\",\"qty\":3,\"at\":\"2025-05-20T12:00\"}\n"
+                + "{\"title\":\"A \\\"quoted\\\", title\",\"qty\":-1,\"at\":null}\n", out.toString());
+    }
+
+    /**
+     * Pads and aligns fixed-width columns like {@code printf}.
+     */
+    @Test
+    void fixedWidthMatchesPrintf() throws IOException {
+        StringWriter out = new StringWriter();
+        writeRows(ReportSinks.fixedWidth(out));
+        String expected = String.format("%nTitle line%n")
+                + String.format("%-8s %4s %s%n", "Title", "Qty", "At")
+                + String.format("%-8s %4d %s%n", "Plain", 3, TS)
+                + String.format("%-8s %4d %s%n", "A \"quoted\", title", -1, null);
+        assertEquals(expected, out.toString());
+    }
+
+    /**
+     * Passes on only the requested page and reports when it is complete.
+     */
+    @Test
+    void pagedSkipsAndLimits() throws IOException {
+        StringWriter out = new StringWriter();
+        ReportSink sink = ReportSinks.paged(ReportSinks.csv(out), 1, 5);
+        writeRows(sink);
+        assertFalse(sink.isFull());
+        assertTrue(out.toString().endsWith("\"A \"\"quoted\"\", title\",-1," + System.lineSeparator()));
+        assertFalse(out.toString().contains("Plain"));
+        assertThrows(IllegalArgumentException.class, () -> ReportSinks.paged(sink, -1, 1));
+    }
+
+    /**
+     * Rejects rows whose field count does not match the columns.
+     */
+    @Test
+    void rowsMustMatchColumns() throws IOException {
+        ReportSink sink = ReportSinks.csv(new StringWriter());
+        sink.begin("t", COLUMNS);
+        sink.text("only one");
+        assertThrows(IllegalStateException.class, sink::endRow);
+    }
+
+    /**
+     * Writes a UTF-8 file that is complete once the sink is closed.
+     */
+    @Test
+    void openWritesFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("report.jsonl");
+        try (ReportSink sink = ReportSinks.open(file, ReportSinks.Format.JSON_LINES)) {
+            sink.begin("t", List.of(ReportColumn.left("title", "Title", 0)));
+            sink.text("Café").endRow();
+            sink.end();
+        }
+        assertEquals("{\"title\":\"Café\"}\n", Files.readString(file, StandardCharsets.UTF_8));
+    }
+}
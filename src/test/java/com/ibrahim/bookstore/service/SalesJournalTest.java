@@ -0,0 +1,201 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SalesJournal} and its use by {@link SalesManager}:
+ * replay after a crash, checkpointing and group commit.
+ */
+class SalesJournalTest {
+    private static final Path JOURNAL = Paths.get("test-sales-journal.csv");
+    private static final Path SNAPSHOT = Paths.get("test-sales-snapshot.csv");
+
+    @AfterEach
+    void cleanup() throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            Files.deleteIfExists(Paths.get(JOURNAL + "." + i));
+        }
+        Files.deleteIfExists(JOURNAL);
+        Files.deleteIfExists(SNAPSHOT);
+    }
+
+    /**
+     * Sales recorded with a journal open survive a "crash" (no save) and are
+     * replayed into a fresh manager.
+     */
+    @Test
+    void replaysUnsavedSales() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString());
+        Book b = new Book("J1", "Journaled, Title", "Author", 4.00, 10);
+        mgr.recordSale(b, 2);
+        mgr.recordSale(b, 1);
+        mgr.closeJournal();
+
+        SalesManager restarted = new SalesManager();
+        assertEquals(2, restarted.openJournal(JOURNAL.toString()), "Both sales replayed");
+        assertEquals(3, restarted.unitsSold("J1"), "Totals rebuilt from the journal");
+        assertEquals("Journaled, Title", restarted.listAllSales().get(0).getBook().getTitle());
+        restarted.closeJournal();
+    }
+
+    /**
+     * Saving a snapshot truncates the journal, so nothing is replayed twice.
+     */
+    @Test
+    void checkpointTruncatesJournal() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString());
+        mgr.recordSale(new Book("J1", "T", "A", 1.00, 1), 1);
+        mgr.saveSales(SNAPSHOT.toString());
+        mgr.recordSale(new Book("J2", "T", "A", 1.00, 1), 1);
+        mgr.closeJournal();
+
+        SalesManager restarted = new SalesManager(SNAPSHOT.toString());
+        assertEquals(1, restarted.openJournal(JOURNAL.toString()), "Only the post-snapshot sale replays");
+        assertEquals(2, restarted.listAllSales().size(), "Snapshot plus journal");
+        restarted.closeJournal();
+    }
+
+    /**
+     * A torn final row from a crash mid-write is dropped and appending continues cleanly.
+     */
+    @Test
+    void repairsTornTail() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString());
+        mgr.recordSale(new Book("J1", "T", "A", 1.00, 1), 1);
+        mgr.closeJournal();
+        Files.write(JOURNAL, "J2,T,A,1.00,1,2025-0".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        SalesManager restarted = new SalesManager();
+        assertEquals(1, restarted.openJournal(JOURNAL.toString()), "Torn row is not replayed");
+        restarted.recordSale(new Book("J3", "T", "A", 1.00, 1), 1);
+        restarted.closeJournal();
+        assertEquals(2, SalesJournal.replay(JOURNAL).size(), "New sale appended after the repair");
+    }
+
+    /**
+     * A sale through the inventory is journaled before the call returns and
+     * leaves stock, history and journal in agreement.
+     */
+    @Test
+    void inventorySaleIsDurableOnReturn() throws IOException {
+        InventoryManager inventory = new InventoryManager();
+        inventory.addBook(new Book("S1", "Title", "Author", 3.00, 5));
+        SalesManager mgr = new SalesManager(inventory);
+        mgr.openJournal(JOURNAL.toString());
+        inventory.sell("S1", 2, mgr);
+        assertEquals(1, SalesJournal.replay(JOURNAL).size(), "Sale synced before sell returns");
+        assertEquals(3, inventory.findBook("S1").getQuantity(), "Stock decremented");
+        assertEquals(1, mgr.listAllSales().size(), "Sale in history");
+        mgr.closeJournal();
+    }
+
+    /**
+     * A checkpoint whose snapshot cannot be written keeps the journal, so
+     * no sale is lost.
+     */
+    @Test
+    void failedSaveKeepsJournal() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString());
+        mgr.recordSale(new Book("F1", "T", "A", 1.00, 1), 1);
+        assertThrows(IOException.class, () -> mgr.saveSales("no-such-dir/sales.csv"));
+        mgr.closeJournal();
+        assertEquals(1, SalesJournal.replay(JOURNAL).size(), "Journaled sale still replayable");
+    }
+
+    /**
+     * Sales recorded while a snapshot is being written land in the new
+     * journal segment: after the checkpoint only they are replayed, and
+     * sealed segments left by a failed checkpoint are replayed first.
+     */
+    @Test
+    void checkpointRotatesSegments() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString());
+        Book b = new Book("R1", "T", "A", 1.00, 1);
+        mgr.recordSale(b, 1);
+        assertThrows(IOException.class, () -> mgr.saveSales("no-such-dir/sales.csv"));
+        assertTrue(Files.exists(Paths.get(JOURNAL + ".1")), "Sealed segment kept after a failed save");
+        mgr.recordSale(b, 2);
+        mgr.closeJournal();
+        assertEquals(List.of(1, 2), quantities(SalesJournal.replay(JOURNAL)), "Segment replayed before the tail");
+
+        SalesManager restarted = new SalesManager();
+        assertEquals(2, restarted.openJournal(JOURNAL.toString()));
+        restarted.saveSales(SNAPSHOT.toString());
+        assertFalse(Files.exists(Paths.get(JOURNAL + ".1")), "Older failed segment discarded too");
+        assertFalse(Files.exists(Paths.get(JOURNAL + ".2")), "Sealed segment discarded");
+        restarted.recordSale(b, 3);
+        restarted.closeJournal();
+        assertEquals(List.of(3), quantities(SalesJournal.replay(JOURNAL)));
+    }
+
+    private static List<Integer> quantities(List<Sale> sales) {
+        List<Integer> q = new ArrayList<>();
+        for (Sale s : sales) {
+            q.add(s.getQuantity());
+        }
+        return q;
+    }
+
+    /**
+     * Loading a history while a journal is open would drop the journaled
+     * sales, so it is refused and the history is kept.
+     */
+    @Test
+    void loadRefusedWhileJournalOpen() throws IOException {
+        SalesManager mgr = new SalesManager();
+        mgr.saveSales(SNAPSHOT.toString());
+        mgr.openJournal(JOURNAL.toString());
+        mgr.recordSale(new Book("L1", "T", "A", 1.00, 1), 1);
+        assertThrows(IllegalStateException.class, () -> mgr.loadSales(SNAPSHOT.toString()));
+        assertEquals(1, mgr.listAllSales().size(), "Journaled sale kept");
+        mgr.closeJournal();
+        mgr.loadSales(SNAPSHOT.toString());
+        assertTrue(mgr.listAllSales().isEmpty(), "Loading allowed once the journal is closed");
+    }
+
+    /**
+     * Many concurrent callers all become durable while sharing group commits.
+     */
+    @Test
+    void concurrentAppendsAreAllDurable() throws Exception {
+        SalesManager mgr = new SalesManager();
+        mgr.openJournal(JOURNAL.toString(), Duration.ofMillis(1));
+        Book b = new Book("G1", "T", "A", 1.00, 1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    mgr.recordSale(b, 1);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400, SalesJournal.replay(JOURNAL).size(), "Every sale is on disk on return");
+        mgr.closeJournal();
+    }
+}
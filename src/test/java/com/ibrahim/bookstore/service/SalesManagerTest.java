@@ -8,8 +8,10 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -102,4 +104,175 @@ class SalesManagerTest {
         mgr.saveSales(TEST_SALES_CSV);
         assertTrue(f.length() > 0, "CSV file should be non-empty after saving");
     }
+
+    /**
+     * Streams the CSV once and aggregates revenue, units and top sellers.
+     */
+    @Test
+    void summarizeCsvStreamsTotals() throws IOException {
+        try (FileWriter fw = new FileWriter(TEST_SALES_CSV, true)) {
+            fw.write("B2,Book B,Author B,5.00,4,2025-05-21T10:00:00\n");
+            fw.write("A1,Book A,Author A,10.00,1,2025-05-22T10:00:00\n");
+            fw.write("broken,row\n");
+        }
+        SalesTotals totals = SalesManager.summarizeCsv(TEST_SALES_CSV);
+        assertEquals(3, totals.getSaleCount(), "Malformed row should be skipped");
+        assertEquals(7, totals.getUnits(), "Units should be summed");
+        assertEquals(50.0, totals.getRevenue(), 0.001, "Revenue should be summed");
+        assertEquals(List.of("B2 - Book B", "A1 - Book A"),
+                List.copyOf(totals.topSellingBooks(2).keySet()), "Top sellers in descending order");
+    }
+
+    /**
+     * Running totals follow recorded sales and are rebuilt when history is reloaded.
+     */
+    @Test
+    void runningTotalsStayConsistent() throws IOException {
+        assertEquals(20.0, mgr.totalRevenue(), 0.001, "Loaded revenue");
+        Book bookB = new Book("B2", "Book B", "Author B", 5.00, 10);
+        mgr.recordSale(bookB, 3);
+        mgr.recordSale(bookB, 1);
+        assertEquals(40.0, mgr.totalRevenue(), 0.001, "Revenue after recording");
+        assertEquals(6, mgr.totalUnits(), "Units after recording");
+        assertEquals(4, mgr.unitsSold("B2"), "Per-ISBN units");
+        assertEquals(20.0, mgr.revenueFor("A1"), 0.001, "Per-ISBN revenue");
+        assertEquals(0, mgr.unitsSold("none"), "Unknown ISBN has no units");
+
+        mgr.loadSales(TEST_SALES_CSV);
+        assertEquals(20.0, mgr.totalRevenue(), 0.001, "Reload replaces totals");
+        assertEquals(0, mgr.unitsSold("B2"), "Reloaded history has no B2 sales");
+    }
+
+    /**
+     * Date-range queries include both boundary days, exclude others and
+     * return sales in time order even when the CSV was out of order.
+     */
+    @Test
+    void salesByDateRangeHandlesOutOfOrderHistory() throws IOException {
+        try (FileWriter fw = new FileWriter(TEST_SALES_CSV, true)) {
+            fw.write("B2,Book B,Author B,5.00,1,2025-05-22T00:00:00\n");
+            fw.write("C3,Book C,Author C,5.00,1,2025-05-19T23:59:59\n");
+            fw.write("D4,Book D,Author D,5.00,1,2025-05-20T00:00:00\n");
+            fw.write("E5,Book E,Author E,5.00,1,2025-05-23T00:00:00\n");
+        }
+        mgr.loadSales(TEST_SALES_CSV);
+        List<Sale> range = mgr.salesByDateRange(LocalDate.of(2025, 5, 20), LocalDate.of(2025, 5, 22));
+        assertEquals(List.of("D4", "A1", "B2"),
+                range.stream().map(s -> s.getBook().getIsbn()).collect(Collectors.toList()),
+                "Only in-range sales, in time order");
+        assertTrue(mgr.salesByDateRange(LocalDate.of(2025, 5, 22), LocalDate.of(2025, 5, 20)).isEmpty(),
+                "Reversed range is empty");
+    }
+
+    /**
+     * Late-arriving live sales are found in time order, including ones
+     * recorded after the index was last sorted by a query.
+     */
+    @Test
+    void salesByDateRangeSortsLateLiveSales() {
+        Book b = new Book("L1", "Late", "Author", 1.00, 10);
+        mgr.recordSale(b, 1, LocalDateTime.of(2025, 5, 21, 9, 0));
+        mgr.recordSale(b, 2, LocalDateTime.of(2025, 5, 19, 9, 0));
+        assertEquals(List.of(2, 2, 1),
+                mgr.salesByDateRange(LocalDate.of(2025, 5, 19), LocalDate.of(2025, 5, 21)).stream()
+                        .map(Sale::getQuantity).collect(Collectors.toList()),
+                "May 19, May 20 (loaded), May 21");
+        mgr.recordSale(b, 3, LocalDateTime.of(2025, 5, 20, 0, 0));
+        assertEquals(List.of(3, 2),
+                mgr.salesByDateRange(LocalDate.of(2025, 5, 20), LocalDate.of(2025, 5, 20)).stream()
+                        .map(Sale::getQuantity).collect(Collectors.toList()),
+                "Sale recorded after the sort is placed before the loaded one");
+    }
+
+    /**
+     * A sale keeps the price it was recorded at even if the book is repriced later.
+     */
+    @Test
+    void recordedSalesKeepTheirPrice() {
+        Book live = new Book("B2", "Book B", "Author B", 5.00, 10);
+        mgr.recordSale(live, 2);
+        live.setPrice(7.50);
+        mgr.recordSale(live, 1);
+
+        List<Sale> all = mgr.listAllSales();
+        assertEquals(3, all.size());
+        assertEquals(5.00, all.get(1).getBook().getPrice(), 0.001, "First B2 sale at old price");
+        assertSame(live, all.get(2).getBook(), "Current price reuses the live book");
+        assertEquals(37.50, mgr.totalRevenue(), 0.001, "20 + 10 + 7.50");
+    }
+
+    /**
+     * A snapshot keeps its contents while sales are recorded concurrently,
+     * including across column growth.
+     */
+    @Test
+    void snapshotIsStableUnderConcurrentRecording() throws InterruptedException {
+        Book b = new Book("B2", "Book B", "Author B", 5.00, 0);
+        SalesSnapshot before = mgr.snapshot();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 5000; i++) {
+                mgr.recordSale(b, 1);
+            }
+        });
+        writer.start();
+        SalesSnapshot during = mgr.snapshot();
+        writer.join();
+
+        assertEquals(1, before.size(), "Earlier snapshot unchanged");
+        assertEquals("A1", before.get(0).getBook().getIsbn());
+        assertEquals(2, before.getQuantity(0));
+        for (int i = 1; i < during.size(); i++) {
+            assertEquals("B2", during.getBook(i).getIsbn(), "Row " + i);
+            assertEquals(500, during.getPriceCents(i), "Row " + i);
+        }
+        assertEquals(5001, mgr.snapshot().size(), "New snapshot sees every sale");
+        assertThrows(UnsupportedOperationException.class, () -> before.add(before.get(0)), "Read-only");
+        assertThrows(IndexOutOfBoundsException.class, () -> before.getQuantity(1), "Bounded to its size");
+    }
+
+    /**
+     * A batch of sales is recorded in order with its own timestamps, and
+     * invalid entries are reported instead of recorded.
+     */
+    @Test
+    void recordSalesInBulk() {
+        Book b = new Book("B2", "Book B", "Author B", 5.00, 0);
+        LocalDateTime t = LocalDateTime.of(2025, 5, 21, 9, 0);
+        BulkResult result = mgr.recordSales(List.of(
+                new Sale(b, 1, t),
+                new Sale(b, 0, t),
+                new Sale(b, 2, t.plusHours(1))));
+        assertEquals(List.of(BulkResult.Status.RECORDED, BulkResult.Status.INVALID,
+                BulkResult.Status.RECORDED), result.getStatuses());
+        assertEquals(3, mgr.listAllSales().size());
+        assertEquals(3, mgr.unitsSold("B2"));
+        assertEquals(35.0, mgr.totalRevenue(), 0.001);
+        assertEquals(2, mgr.salesByDateRange(LocalDate.of(2025, 5, 21), LocalDate.of(2025, 5, 21)).size());
+    }
+
+    /**
+     * A binary snapshot loads straight into the columns with totals intact,
+     * including an empty one, and the loaded history still accepts sales.
+     */
+    @Test
+    void snapshotLoadsIntoColumns() throws IOException {
+        String snapshot = "test-sales.bin";
+        try {
+            mgr.recordSale(new Book("B2", "Book B", "Author B", 5.00, 10), 3);
+            mgr.saveSnapshot(snapshot);
+            SalesManager loaded = new SalesManager(List.of());
+            loaded.loadSnapshot(snapshot);
+            assertEquals(mgr.listAllSales().stream().map(Sale::getTimestamp).collect(Collectors.toList()),
+                    loaded.listAllSales().stream().map(Sale::getTimestamp).collect(Collectors.toList()));
+            assertEquals(35.0, loaded.totalRevenue(), 0.001);
+
+            new SalesManager(List.of()).saveSnapshot(snapshot);
+            loaded.loadSnapshot(snapshot);
+            assertEquals(0, loaded.listAllSales().size());
+            loaded.recordSale(new Book("A1", "Book A", "Author A", 10.00, 5), 1);
+            assertEquals(10.0, loaded.totalRevenue(), 0.001);
+        } finally {
+            Files.deleteIfExists(new File(snapshot).toPath());
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.ibrahim.bookstore.service;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Sale;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpaceSavingTopSellers} and the exact heap-based
+ * selection in {@link SalesTotals}.
+ */
+class SpaceSavingTopSellersTest {
+
+    /**
+     * With a skewed stream and few counters, the heavy hitters are still found
+     * in the right order, within the documented error bound.
+     */
+    @Test
+    void findsHeavyHittersWithFixedMemory() {
+        SpaceSavingTopSellers approx = new SpaceSavingTopSellers(20);
+        SalesTotals exact = new SalesTotals();
+        Random rnd = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        Book[] hot = {
+                new Book("H1", "Hot 1", "A", 1.0, 0),
+                new Book("H2", "Hot 2", "A", 1.0, 0),
+                new Book("H3", "Hot 3", "A", 1.0, 0)
+        };
+        for (int i = 0; i < 30_000; i++) {
+            Book b;
+            int r = rnd.nextInt(100);
+            if (r < 20) {
+                b = hot[0];
+            } else if (r < 32) {
+                b = hot[1];
+            } else if (r < 40) {
+                b = hot[2];
+            } else {
+                b = new Book("T" + rnd.nextInt(5000), "Tail", "A", 1.0, 0);
+            }
+            Sale s = new Sale(b, 1, now);
+            approx.accept(s);
+            exact.accept(s);
+        }
+        assertEquals(List.of("H1 - Hot 1", "H2 - Hot 2", "H3 - Hot 3"),
+                List.copyOf(approx.topSellingBooks(3).keySet()), "Heavy hitters in order");
+        assertEquals(List.copyOf(exact.topSellingBooks(3).keySet()),
+                List.copyOf(approx.topSellingBooks(3).keySet()), "Matches exact top-3");
+        int estimate = approx.topSellingBooks(1).get("H1 - Hot 1");
+        int truth = exact.topSellingBooks(1).get("H1 - Hot 1");
+        assertTrue(estimate >= truth && estimate - truth <= approx.getErrorBound(),
+                "Estimate within error bound");
+        assertTrue(approx.guaranteedUnits("H1") <= truth, "Guaranteed units is a lower bound");
+    }
+
+    /**
+     * The exact heap selection returns N titles in descending order, ISBN on ties.
+     */
+    @Test
+    void exactTopNBreaksTiesByIsbn() {
+        SalesTotals totals = new SalesTotals();
+        LocalDateTime now = LocalDateTime.now();
+        totals.accept(new Sale(new Book("C", "c", "x", 1.0, 0), 5, now));
+        totals.accept(new Sale(new Book("B", "b", "x", 1.0, 0), 5, now));
+        totals.accept(new Sale(new Book("A", "a", "x", 1.0, 0), 1, now));
+        totals.accept(new Sale(new Book("D", "d", "x", 1.0, 0), 9, now));
+        assertEquals(List.of("D - d", "B - b", "C - c"),
+                List.copyOf(totals.topSellingBooks(3).keySet()));
+        assertTrue(totals.topSellingBooks(0).isEmpty(), "topN of 0 is empty");
+    }
+}
@@ -0,0 +1,143 @@
+package com.ibrahim.bookstore.util;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BinarySnapshot}.
+ */
+class BinarySnapshotTest {
+    private static final Path SNAP = Paths.get("test-snapshot.bin");
+    private static final Path CSV = Paths.get("test-snapshot.csv");
+
+    @AfterEach
+    void cleanup() throws IOException {
+        Files.deleteIfExists(SNAP);
+        Files.deleteIfExists(CSV);
+    }
+
+    /**
+     * Inventory survives a snapshot round-trip with order, text and numbers intact.
+     */
+    @Test
+    void inventoryRoundTrip() throws IOException {
+        Inventory inv = new Inventory();
+        inv.addBook(new Book("B2", "Café, \"Noir\"", "Zoë", 12.99, 7));
+        inv.addBook(new Book("A1", "📚 Stories", null, 0.5, 0));
+        BinarySnapshot.writeInventory(inv, SNAP.toString());
+
+        List<Book> books = BinarySnapshot.readInventory(SNAP.toString()).getBooks();
+        assertEquals(2, books.size());
+        assertEquals("B2", books.get(0).getIsbn());
+        assertEquals("Café, \"Noir\"", books.get(0).getTitle());
+        assertEquals("Zoë", books.get(0).getAuthor());
+        assertEquals(12.99, books.get(0).getPrice());
+        assertEquals(7, books.get(0).getQuantity());
+        assertEquals("📚 Stories", books.get(1).getTitle());
+        assertNull(books.get(1).getAuthor());
+    }
+
+    /**
+     * Sales keep their timestamps to the nanosecond and share one book per dictionary entry.
+     */
+    @Test
+    void salesRoundTripSharesBooks() throws IOException {
+        Book a = new Book("A1", "Book A", "Author", 10.0, 5);
+        Book b = new Book("B2", "Book B", "Author", 20.0, 5);
+        LocalDateTime t = LocalDateTime.of(2025, 5, 1, 10, 0, 0, 123_456_789);
+        List<Sale> sales = List.of(
+                new Sale(a, 1, t),
+                new Sale(b, 2, t.plusDays(1)),
+                new Sale(new Book("A1", "Book A", "Author", 10.0, 3), 3, t.minusYears(60)));
+        BinarySnapshot.writeSales(sales, SNAP.toString());
+
+        List<Sale> loaded = BinarySnapshot.readSales(SNAP.toString());
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(sales.get(i).getBook().getIsbn(), loaded.get(i).getBook().getIsbn());
+            assertEquals(sales.get(i).getQuantity(), loaded.get(i).getQuantity());
+            assertEquals(sales.get(i).getTimestamp(), loaded.get(i).getTimestamp());
+        }
+        assertSame(loaded.get(0).getBook(), loaded.get(2).getBook());
+    }
+
+    /**
+     * CSV converted to a snapshot and back yields the same file.
+     */
+    @Test
+    void convertsToAndFromCsv() throws IOException {
+        String csv = CSVUtil.SALES_HEADER + System.lineSeparator()
+                + "A1,Book A,Author,10.00,2,2025-05-01T10:00" + System.lineSeparator()
+                + "B2,Book B,Author,20.00,1,2025-05-02T11:30:15" + System.lineSeparator();
+        Files.writeString(CSV, csv);
+        BinarySnapshot.convertSalesCsv(CSV.toString(), SNAP.toString());
+        Files.delete(CSV);
+        BinarySnapshot.convertSalesSnapshot(SNAP.toString(), CSV.toString());
+        assertEquals(csv, Files.readString(CSV));
+    }
+
+    /**
+     * Files of the wrong kind or without the magic number are rejected.
+     */
+    @Test
+    void rejectsForeignFiles() throws IOException {
+        BinarySnapshot.writeInventory(new Inventory(), SNAP.toString());
+        assertThrows(IOException.class, () -> BinarySnapshot.readSales(SNAP.toString()));
+        Files.writeString(SNAP, "ISBN,Title\n");
+        assertThrows(IOException.class, () -> BinarySnapshot.readInventory(SNAP.toString()));
+    }
+
+    /**
+     * A snapshot cut short at any byte fails with an IOException rather than an unchecked exception.
+     */
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Book a = new Book("A1", "Book A", "Author", 10.0, 5);
+        BinarySnapshot.writeSales(List.of(new Sale(a, 1, LocalDateTime.of(2025, 5, 1, 10, 0))), SNAP.toString());
+        byte[] full = Files.readAllBytes(SNAP);
+        for (int len = 0; len < full.length; len++) {
+            Files.write(SNAP, Arrays.copyOf(full, len));
+            assertThrows(IOException.class, () -> BinarySnapshot.readSales(SNAP.toString()), "length " + len);
+        }
+    }
+
+    /**
+     * Row counts larger than the file and book ids outside the dictionary are reported as corrupt.
+     */
+    @Test
+    void rejectsCorruptCountsAndIds() throws IOException {
+        Inventory inv = new Inventory();
+        inv.addBook(new Book("A1", "Book A", "Author", 10.0, 5));
+        BinarySnapshot.writeInventory(inv, SNAP.toString());
+        byte[] bytes = Files.readAllBytes(SNAP);
+        ByteBuffer.wrap(bytes).putInt(7, Integer.MAX_VALUE);
+        Files.write(SNAP, bytes);
+        assertThrows(IOException.class, () -> BinarySnapshot.readInventory(SNAP.toString()));
+        ByteBuffer.wrap(bytes).putInt(7, -1);
+        Files.write(SNAP, bytes);
+        assertThrows(IOException.class, () -> BinarySnapshot.readInventory(SNAP.toString()));
+
+        Book a = new Book("A1", "Book A", "Author", 10.0, 5);
+        BinarySnapshot.writeSales(List.of(new Sale(a, 1, LocalDateTime.of(2025, 5, 1, 10, 0))), SNAP.toString());
+        bytes = Files.readAllBytes(SNAP);
+        // The last sales row is the final 28 bytes; its book id comes first.
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 28, 1);
+        Files.write(SNAP, bytes);
+        IOException e = assertThrows(IOException.class, () -> BinarySnapshot.readSales(SNAP.toString()));
+        assertTrue(e.getMessage().startsWith("Corrupt snapshot"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.ibrahim.bookstore.util;
+
+import com.ibrahim.bookstore.model.Book;
+import com.ibrahim.bookstore.model.Inventory;
+import com.ibrahim.bookstore.model.Sale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CSVUtil}, comparing the sequential and parallel
+ * memory-mapped import paths.
+ */
+class CSVUtilTest {
+    private static final String TEST_INV_CSV = "test-csvutil-inv.csv";
+    private static final String TEST_SALES_CSV = "test-csvutil-sales.csv";
+    /** Enough rows to span several parallel chunks. */
+    private static final int ROWS = 60_000;
+
+    @AfterEach
+    void cleanup() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_INV_CSV));
+        Files.deleteIfExists(Paths.get(TEST_SALES_CSV));
+    }
+
+    /**
+     * Parallel inventory import yields the same books in the same order,
+     * skipping malformed rows and later duplicates.
+     */
+    @Test
+    void parallelInventoryMatchesSequential() throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(Paths.get(TEST_INV_CSV))) {
+            w.write("isbn,title,author,price,quantity\n");
+            for (int i = 0; i < ROWS; i++) {
+                w.write("ISBN" + i + ",Title " + i + ",Author " + (i % 97) + "," + (i % 50) + ".25," + (i % 13) + "\n");
+                if (i % 1000 == 0) {
+                    w.write("malformed row\n");
+                    w.write("ISBN" + i + ",Dup,Dup,1.00,1\n");
+                }
+            }
+            w.write("LAST,No newline,Author,1.50,2");
+        }
+        Inventory seq = CSVUtil.readInventoryFromCsv(TEST_INV_CSV);
+        Inventory par = CSVUtil.readInventoryFromCsvParallel(TEST_INV_CSV);
+
+        List<Book> a = seq.getBooks();
+        List<Book> b = par.getBooks();
+        assertEquals(ROWS + 1, a.size(), "Sequential should skip malformed and duplicate rows");
+        assertEquals(a.size(), b.size(), "Both paths should load the same number of books");
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getIsbn(), b.get(i).getIsbn(), "ISBN order at row " + i);
+            assertEquals(a.get(i).getTitle(), b.get(i).getTitle(), "Title at row " + i);
+            assertEquals(a.get(i).getPrice(), b.get(i).getPrice(), 0.0, "Price at row " + i);
+            assertEquals(a.get(i).getQuantity(), b.get(i).getQuantity(), "Quantity at row " + i);
+        }
+    }
+
+    /**
+     * Parallel sales import yields the same sales in the same order.
+     */
+    @Test
+    void parallelSalesMatchesSequential() throws IOException {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        try (BufferedWriter w = Files.newBufferedWriter(Paths.get(TEST_SALES_CSV))) {
+            w.write("isbn,title,author,price,quantity,timestamp\r\n");
+            for (int i = 0; i < ROWS; i++) {
+                w.write("ISBN" + (i % 500) + ",Title,Author,9.99," + (1 + i % 3) + ","
+                        + base.plusSeconds(i * 61L) + "\r\n");
+            }
+        }
+        List<Sale> a = CSVUtil.readSalesFromCsv(TEST_SALES_CSV);
+        List<Sale> b = CSVUtil.readSalesFromCsvParallel(TEST_SALES_CSV);
+
+        assertEquals(ROWS, a.size(), "Sequential should load every row");
+        assertEquals(a.size(), b.size(), "Both paths should load the same number of sales");
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getBook().getIsbn(), b.get(i).getBook().getIsbn(), "ISBN at row " + i);
+            assertEquals(a.get(i).getQuantity(), b.get(i).getQuantity(), "Quantity at row " + i);
+            assertEquals(a.get(i).getTimestamp(), b.get(i).getTimestamp(), "Timestamp at row " + i);
+        }
+    }
+
+    /**
+     * A wrong header is rejected by the parallel importer too.
+     */
+    @Test
+    void parallelRejectsBadHeader() throws IOException {
+        Files.write(Paths.get(TEST_SALES_CSV), List.of("isbn,title", "x,y"));
+        assertThrows(IOException.class, () -> CSVUtil.readSalesFromCsvParallel(TEST_SALES_CSV),
+                "Invalid header should raise IOException");
+    }
+
+    /**
+     * Titles containing commas and quotes survive a write/read round trip,
+     * and malformed rows are counted in the stats.
+     */
+    @Test
+    void quotedTitlesRoundTrip() throws IOException {
+        Inventory inv = new Inventory();
+        inv.addBook(new Book("Q1", "Eats, Shoots & Leaves", "Lynne Truss", 9.99, 4));
+        inv.addBook(new Book("Q2", "The \"Quoted\" Book", "Author", 5.00, 1));
+        CSVUtil.writeInventoryToCsv(inv, TEST_INV_CSV);
+        Files.write(Paths.get(TEST_INV_CSV), List.of("Q3,Bad,Price,abc,1"),
+                StandardOpenOption.APPEND);
+
+        CsvStats stats = new CsvStats();
+        Inventory back = CSVUtil.readInventoryFromCsv(TEST_INV_CSV, stats);
+        assertEquals("Eats, Shoots & Leaves", back.findByIsbn("Q1").getTitle(), "Comma title kept");
+        assertEquals("The \"Quoted\" Book", back.findByIsbn("Q2").getTitle(), "Quotes kept");
+        assertEquals(2, stats.getRows(), "Two rows parsed");
+        assertEquals(1, stats.getMalformed(), "Bad price row counted as malformed");
+        assertTrue(stats.getBytes() > 0, "File size recorded");
+    }
+
+    /**
+     * A write that fails part-way leaves the previous file untouched and no
+     * temporary file behind.
+     */
+    @Test
+    void failedWriteKeepsPreviousFile() throws IOException {
+        Book book = new Book("K1", "Kept", "Author", 1.00, 1);
+        LocalDateTime ts = LocalDateTime.of(2025, 5, 20, 12, 0);
+        CSVUtil.writeSalesToCsv(List.of(new Sale(book, 1, ts)), TEST_SALES_CSV);
+        String before = Files.readString(Paths.get(TEST_SALES_CSV));
+
+        List<Sale> failing = new AbstractList<>() {
+            @Override
+            public Sale get(int index) {
+                if (index == 2) {
+                    throw new IllegalStateException("disk full");
+                }
+                return new Sale(book, 5, ts);
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> CSVUtil.writeSalesToCsv(failing, TEST_SALES_CSV));
+        assertEquals(before, Files.readString(Paths.get(TEST_SALES_CSV)), "Old snapshot intact");
+        assertFalse(Files.exists(Paths.get(TEST_SALES_CSV + ".tmp")), "Temporary file removed");
+    }
+
+    /**
+     * Line breaks inside titles and authors are written as spaces, so the
+     * row is read back by both import paths instead of being dropped.
+     */
+    @Test
+    void lineBreaksRoundTrip() throws IOException {
+        Inventory inv = new Inventory();
+        inv.addBook(new Book("N1", "First line\nsecond, line", "Author\r\nName", 9.99, 4));
+        inv.addBook(new Book("N2", "Plain", "Author", 5.00, 1));
+        CSVUtil.writeInventoryToCsv(inv, TEST_INV_CSV);
+
+        for (Inventory back : List.of(CSVUtil.readInventoryFromCsv(TEST_INV_CSV),
+                CSVUtil.readInventoryFromCsvParallel(TEST_INV_CSV))) {
+            assertEquals(2, back.size(), "No row lost");
+            assertEquals("First line second, line", back.findByIsbn("N1").getTitle());
+            assertEquals("Author Name", back.findByIsbn("N1").getAuthor());
+        }
+
+        Book book = inv.findByIsbn("N1");
+        CSVUtil.writeSalesToCsv(List.of(new Sale(book, 2, LocalDateTime.of(2025, 5, 20, 12, 0))), TEST_SALES_CSV);
+        List<Sale> sales = CSVUtil.readSalesFromCsv(TEST_SALES_CSV);
+        assertEquals(1, sales.size(), "Sale kept");
+        assertEquals("First line second, line", sales.get(0).getBook().getTitle());
+    }
+
+    /**
+     * Loaded sales share one book per ISBN, taken from the catalog when it
+     * knows the ISBN, while each sale keeps its own row price.
+     */
+    @Test
+    void salesShareBooksByIsbn() throws IOException {
+        Files.write(Paths.get(TEST_SALES_CSV), List.of(CSVUtil.SALES_HEADER,
+                "A1,Book A,Author,10.00,1,2025-05-01T10:00",
+                "B2,\"Book, B\",Author,5.00,2,2025-05-01T11:00",
+                "A1,Book A,Author,12.50,3,2025-05-02T10:00",
+                "B2,\"Book, B\",Author,5.00,1,2025-05-02T11:00"));
+        Book live = new Book("A1", "Book A", "Author", 11.00, 9);
+        Inventory inv = new Inventory();
+        inv.addBook(live);
+
+        for (List<Sale> sales : List.of(CSVUtil.readSalesFromCsv(TEST_SALES_CSV, inv::findByIsbn),
+                CSVUtil.readSalesFromCsvParallel(TEST_SALES_CSV, inv::findByIsbn))) {
+            assertSame(live, sales.get(0).getBook(), "Catalog book used");
+            assertSame(live, sales.get(2).getBook(), "Catalog book reused");
+            assertSame(sales.get(1).getBook(), sales.get(3).getBook(), "Unknown ISBN pooled");
+            assertEquals("Book, B", sales.get(3).getBook().getTitle(), "Pooled book decoded once");
+            assertEquals(1000, sales.get(0).getPriceCents(), "Row price kept");
+            assertEquals(1250, sales.get(2).getPriceCents(), "Row price kept");
+        }
+        List<Sale> plain = CSVUtil.readSalesFromCsv(TEST_SALES_CSV);
+        assertSame(plain.get(0).getBook(), plain.get(2).getBook(), "Pooled without a catalog too");
+    }
+}
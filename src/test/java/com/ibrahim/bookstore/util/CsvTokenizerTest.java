@@ -0,0 +1,69 @@
+package com.ibrahim.bookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CsvTokenizer}, covering quoting, number and
+ * timestamp decoding and field-count handling.
+ */
+class CsvTokenizerTest {
+    private final CsvTokenizer tok = new CsvTokenizer();
+
+    /**
+     * Quoted fields may contain commas and doubled quotes; empty fields are kept.
+     */
+    @Test
+    void quotedAndEmptyFields() {
+        tok.reset("A1,\"Eats, Shoots \"\"and\"\" Leaves\",,x");
+        assertEquals("A1", tok.nextString());
+        assertEquals("Eats, Shoots \"and\" Leaves", tok.nextString());
+        assertEquals("", tok.nextString());
+        assertEquals("x", tok.nextString());
+        assertFalse(tok.hasMoreFields(), "All fields consumed");
+        assertThrows(IllegalArgumentException.class, tok::nextString, "No field left");
+    }
+
+    /**
+     * Broken quoting is reported instead of silently mis-splitting.
+     */
+    @Test
+    void invalidQuoting() {
+        assertThrows(IllegalArgumentException.class, () -> tok.reset("\"open").nextString());
+        assertThrows(IllegalArgumentException.class, () -> tok.reset("\"a\"b,c").nextString());
+    }
+
+    /**
+     * Integers decode with sign handling and overflow detection.
+     */
+    @Test
+    void integers() {
+        assertEquals(42, tok.reset("42,x").nextInt());
+        assertEquals(Integer.MIN_VALUE, tok.reset("-2147483648").nextInt());
+        assertThrows(NumberFormatException.class, () -> tok.reset("2147483648").nextInt());
+        assertThrows(NumberFormatException.class, () -> tok.reset("1.5").nextInt());
+        assertThrows(NumberFormatException.class, () -> tok.reset("-").nextInt());
+    }
+
+    /**
+     * Every layout produced by LocalDateTime.toString() round-trips.
+     */
+    @Test
+    void timestamps() {
+        LocalDateTime[] values = {
+                LocalDateTime.of(2025, 5, 20, 12, 34, 56),
+                LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59, 120_000_000),
+                LocalDateTime.of(2024, 2, 29, 8, 5, 1, 123_456_789)
+        };
+        for (LocalDateTime v : values) {
+            assertEquals(v, tok.reset(v.toString()).nextTimestamp(), v.toString());
+        }
+        assertThrows(DateTimeException.class, () -> tok.reset("2025-02-30T00:00:00").nextTimestamp());
+        assertThrows(DateTimeException.class, () -> tok.reset("yesterday").nextTimestamp());
+    }
+}
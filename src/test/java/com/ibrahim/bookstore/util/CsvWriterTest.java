@@ -0,0 +1,66 @@
+package com.ibrahim.bookstore.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CsvWriter}, checking its output against the
+ * {@code printf} layout it replaces.
+ */
+class CsvWriterTest {
+    private static final Path OUT = Paths.get("test-csvwriter.csv");
+
+    @AfterEach
+    void cleanup() throws IOException {
+        Files.deleteIfExists(OUT);
+    }
+
+    /**
+     * Cents, integers and timestamps are written exactly as {@code %d.%02d},
+     * {@code %d} and {@code LocalDateTime.toString()} would.
+     */
+    @Test
+    void matchesPrintfLayout() throws IOException {
+        Random rnd = new Random(42);
+        StringBuilder expected = new StringBuilder();
+        long[] edge = {0, 5, -5, 99, -100, 1299, 1995, Long.MAX_VALUE, -Long.MAX_VALUE};
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        try (CsvWriter w = new CsvWriter(OUT)) {
+            for (int i = 0; i < 5000; i++) {
+                long cents = i < edge.length ? edge[i] : rnd.nextInt(2_000_000) - 1_000_000;
+                long qty = rnd.nextInt() - (long) Integer.MAX_VALUE;
+                LocalDateTime ts = base.plusSeconds(rnd.nextInt(100_000_000))
+                        .withNano(i % 4 == 0 ? 0 : i % 4 == 1 ? 5_000_000 : i % 4 == 2 ? 123_000 : 7);
+                w.cents(cents).integer(qty).timestamp(ts).endRow();
+                expected.append(String.format(Locale.ROOT, "%s%d.%02d,%d,%s%n", cents < 0 ? "-" : "",
+                        Math.abs(cents) / 100, Math.abs(cents) % 100, qty, ts));
+            }
+        }
+        assertEquals(expected.toString(), Files.readString(OUT, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Text fields are UTF-8 encoded and RFC 4180 quoted when needed.
+     */
+    @Test
+    void quotesAndEncodesText() throws IOException {
+        try (CsvWriter w = new CsvWriter(OUT)) {
+            w.line("a,b,c");
+            w.text("Plain").text("Café, \"Noir\"").text("📚").endRow();
+        }
+        String nl = System.lineSeparator();
+        assertEquals("a,b,c" + nl + "Plain,\"Café, \"\"Noir\"\"\",📚" + nl,
+                Files.readString(OUT, StandardCharsets.UTF_8));
+    }
+}